@@ -0,0 +1,142 @@
+package at.technikum.springrestbackend.benchmark;
+
+import at.technikum.springrestbackend.property.JwtProperties;
+import at.technikum.springrestbackend.security.jwt.JwtDecoder;
+import at.technikum.springrestbackend.security.jwt.JwtIssuer;
+import at.technikum.springrestbackend.security.jwt.JwtToPrincipalConverter;
+import at.technikum.springrestbackend.security.user.UserPrincipal;
+import at.technikum.springrestbackend.security.user.UserPrincipalAuthenticationToken;
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.JWTVerifier;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.auth0.jwt.interfaces.DecodedJWT;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.authentication.AbstractAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+// The path every authenticated request takes through the JwtAuthenticationFilter
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtBenchmark {
+
+    private JwtIssuer issuer;
+
+    private JwtDecoder decoder;
+
+    // what a cache miss costs, JwtDecoder would keep serving the token from its cache
+    private JWTVerifier verifier;
+
+    private JwtToPrincipalConverter converter;
+
+    private UUID userId;
+
+    private String token;
+
+    private DecodedJWT decodedToken;
+
+    @Setup
+    public void setUp() {
+        JwtProperties jwtProperties = new JwtProperties();
+        jwtProperties.setSecret("benchmark-secret");
+        jwtProperties.setCacheMaximumSize(10_000);
+        issuer = new JwtIssuer(jwtProperties);
+        decoder = new JwtDecoder(jwtProperties);
+        verifier = JWT.require(Algorithm.HMAC256(jwtProperties.getSecret())).build();
+        converter = new JwtToPrincipalConverter(jwtProperties);
+        userId = UUID.randomUUID();
+        token = issuer.issue(userId, "benchmark", "ROLE_USER");
+        decodedToken = decoder.decode(token);
+    }
+
+    @Benchmark
+    public String issue() {
+        return issuer.issue(userId, "benchmark", "ROLE_USER");
+    }
+
+    @Benchmark
+    public DecodedJWT decodeCached() {
+        return decoder.decode(token);
+    }
+
+    @Benchmark
+    public DecodedJWT decodeVerified() {
+        return verifier.verify(token);
+    }
+
+    @Benchmark
+    public UserPrincipal convert() {
+        return converter.convert(decodedToken);
+    }
+
+    @Benchmark
+    public Authentication authenticate() {
+        return new UserPrincipalAuthenticationToken(converter.convert(decodedToken));
+    }
+
+    // the filter before principals were cached: Optional chain, Spring User, token copy
+    @Benchmark
+    public Authentication authenticateLegacy() {
+        return Optional.of(decodedToken)
+                .map(JwtBenchmark::legacyPrincipal)
+                .map(LegacyAuthenticationToken::new)
+                .orElseThrow();
+    }
+
+    private static LegacyPrincipal legacyPrincipal(DecodedJWT jwt) {
+        return new LegacyPrincipal(
+                UUID.fromString(jwt.getSubject()),
+                jwt.getClaim("username").asString(),
+                "",
+                jwt.getClaim("role").asString()
+        );
+    }
+
+    private static class LegacyPrincipal extends User {
+        private final UUID id;
+
+        LegacyPrincipal(UUID id, String username, String password, String role) {
+            super(username, password, List.of(new SimpleGrantedAuthority(role)));
+            this.id = id;
+        }
+    }
+
+    private static class LegacyAuthenticationToken extends AbstractAuthenticationToken {
+        private final LegacyPrincipal principal;
+
+        LegacyAuthenticationToken(LegacyPrincipal principal) {
+            super(principal.getAuthorities());
+            this.principal = principal;
+            setAuthenticated(true);
+        }
+
+        @Override
+        public Object getCredentials() {
+            return null;
+        }
+
+        @Override
+        public Object getPrincipal() {
+            return principal;
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package at.technikum.springrestbackend.benchmark;
+
+import at.technikum.springrestbackend.property.PasswordPolicyProperties;
+import at.technikum.springrestbackend.util.PasswordPolicy;
+import at.technikum.springrestbackend.util.PasswordValidator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+// The regex variants are the previous implementation of PasswordValidator, kept as baseline
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PasswordValidatorBenchmark {
+
+    private static final String REGEX =
+            "^(?=.*[a-z])(?=.*[A-Z])(?=.*\\d)(?=.*[@#$%^&+=!])(?=\\S+$).{8,}$";
+
+    private static final Pattern PATTERN = Pattern.compile(REGEX);
+
+    // valid, missing a special character, too short, and a long passphrase
+    @Param({"StrongP@ss1", "StrongPass1", "Sh@1", "Correct-Horse-Battery-Staple-2024!"})
+    private String password;
+
+    private PasswordPolicy policy;
+
+    @Setup
+    public void setUp() {
+        policy = new PasswordPolicy(new PasswordPolicyProperties());
+    }
+
+    @Benchmark
+    public boolean isValidPassword() {
+        return PasswordValidator.isValidPassword(password);
+    }
+
+    @Benchmark
+    public int policyCheck() {
+        return policy.check(password);
+    }
+
+    @Benchmark
+    public boolean regexCompiledPerCall() {
+        return Pattern.compile(REGEX).matcher(password).matches();
+    }
+
+    @Benchmark
+    public boolean regexPrecompiled() {
+        return PATTERN.matcher(password).matches();
+    }
+}
@@ -0,0 +1,65 @@
+package at.technikum.springrestbackend.benchmark;
+
+import at.technikum.springrestbackend.model.Phone;
+import at.technikum.springrestbackend.security.permission.AccessPermissionEvaluator;
+import at.technikum.springrestbackend.security.permission.PhonePermission;
+import at.technikum.springrestbackend.security.user.UserPrincipal;
+import at.technikum.springrestbackend.security.user.UserPrincipalAuthenticationToken;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.core.Authentication;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PermissionBenchmark {
+
+    private static final String PHONE = Phone.class.getName();
+
+    private AccessPermissionEvaluator evaluator;
+
+    private Authentication authentication;
+
+    private UUID ownId;
+
+    private UUID otherId;
+
+    @Setup
+    public void setUp() {
+        evaluator = new AccessPermissionEvaluator(List.of(new PhonePermission()));
+        ownId = UUID.randomUUID();
+        otherId = UUID.randomUUID();
+        authentication = new UserPrincipalAuthenticationToken(
+                new UserPrincipal(ownId, "benchmark", null, "ROLE_USER"));
+    }
+
+    @Benchmark
+    public boolean granted() {
+        return evaluator.hasPermission(authentication, ownId, PHONE, "read");
+    }
+
+    @Benchmark
+    public boolean denied() {
+        return evaluator.hasPermission(authentication, otherId, PHONE, "read");
+    }
+
+    @Benchmark
+    public boolean unsupportedType() {
+        return evaluator.hasPermission(authentication, ownId, "Unknown", "read");
+    }
+}
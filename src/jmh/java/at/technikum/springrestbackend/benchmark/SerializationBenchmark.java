@@ -0,0 +1,75 @@
+package at.technikum.springrestbackend.benchmark;
+
+import at.technikum.springrestbackend.model.Orders;
+import at.technikum.springrestbackend.model.Phone;
+import at.technikum.springrestbackend.model.Salutation;
+import at.technikum.springrestbackend.model.User;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Jackson cost of the entity graphs the controllers return
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializationBenchmark {
+
+    @Param({"1", "100", "1000"})
+    private int phoneCount;
+
+    private ObjectMapper objectMapper;
+
+    private List<Phone> phones;
+
+    private User user;
+
+    private Orders order;
+
+    @Setup
+    public void setUp() {
+        objectMapper = JsonMapper.builder().findAndAddModules().build();
+        phones = new ArrayList<>(phoneCount);
+        for (int i = 0; i < phoneCount; i++) {
+            phones.add(new Phone("Phone " + i, "A phone used for benchmarking",
+                    6.1f, 128, 4000, 499.99f + i, "Brand " + (i % 10)));
+        }
+        user = new User("benchmark", "$2a$10$abcdefghijklmnopqrstuuabcdefghijklmnopqrstuvwxyz0123",
+                "ROLE_USER", "Bench", "Mark", Salutation.values()[0], "bench@example.com",
+                "AT", "profile.png", true);
+        order = new Orders(user);
+        phones.forEach(order::addPhone);
+    }
+
+    @Benchmark
+    public byte[] phones() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(phones);
+    }
+
+    @Benchmark
+    public byte[] user() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(user);
+    }
+
+    @Benchmark
+    public byte[] order() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(order);
+    }
+}
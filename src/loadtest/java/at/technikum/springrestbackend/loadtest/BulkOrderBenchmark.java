@@ -0,0 +1,66 @@
+package at.technikum.springrestbackend.loadtest;
+
+import at.technikum.springrestbackend.dto.OrderIngestRequest;
+import at.technikum.springrestbackend.dto.OrderIngestResult;
+import at.technikum.springrestbackend.property.OrderProperties;
+import at.technikum.springrestbackend.service.BulkOrderService;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+// Orders/sec of POST /orders/bulk on the loadtest H2 database, once per batch size on top of
+// the seeded data. Each order sent in a request of its own is the baseline. Run it with
+// -Dloadtest.main=at.technikum.springrestbackend.loadtest.BulkOrderBenchmark
+public class BulkOrderBenchmark {
+
+    public static void main(String[] args) {
+        SpringApplication application = LoadTestApplication.create();
+        try (ConfigurableApplicationContext context = application.run(args)) {
+            LoadTestProperties properties = context.getBean(LoadTestProperties.class);
+            OrderProperties orderProperties = context.getBean(OrderProperties.class);
+            BulkOrderService bulkOrderService = context.getBean(BulkOrderService.class);
+            CatalogSeeder.SeedData seed = context.getBean(CatalogSeeder.class).seed();
+            Random random = new Random(7);
+
+            System.out.printf("%n%-22s %10s %10s %10s %10s%n",
+                    "run", "orders", "failed", "seconds", "orders/s");
+            run("one per request", bulkOrderService,
+                    orders(random, seed, properties.getSingleInsertRows()), 1);
+            for (int batchSize : properties.getBulkBatchSizes()) {
+                orderProperties.setBulkBatchSize(batchSize);
+                run("batch " + batchSize, bulkOrderService,
+                        orders(random, seed, properties.getBulkOrders()),
+                        orderProperties.getMaxBulkSize());
+            }
+        }
+    }
+
+    private static void run(String name, BulkOrderService bulkOrderService,
+                            List<OrderIngestRequest> orders, int requestSize) {
+        long failed = 0;
+        long start = System.nanoTime();
+        for (int from = 0; from < orders.size(); from += requestSize) {
+            List<OrderIngestRequest> request =
+                    orders.subList(from, Math.min(from + requestSize, orders.size()));
+            for (OrderIngestResult result : bulkOrderService.ingest(request)) {
+                failed += result.getError() == null ? 0 : 1;
+            }
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("%-22s %10d %10d %10.2f %10.0f%n", name, orders.size(), failed,
+                seconds, orders.size() / seconds);
+    }
+
+    private static List<OrderIngestRequest> orders(Random random, CatalogSeeder.SeedData seed,
+                                                   int count) {
+        List<OrderIngestRequest> orders = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            orders.add(CatalogSeeder.randomOrder(random,
+                    seed.userIds().get(random.nextInt(seed.userIds().size())), seed.phoneIds()));
+        }
+        return orders;
+    }
+}
@@ -0,0 +1,107 @@
+package at.technikum.springrestbackend.loadtest;
+
+import at.technikum.springrestbackend.dto.OrderIngestRequest;
+import at.technikum.springrestbackend.model.Phone;
+import at.technikum.springrestbackend.model.Salutation;
+import at.technikum.springrestbackend.model.User;
+import at.technikum.springrestbackend.property.OrderProperties;
+import at.technikum.springrestbackend.repository.UserRepository;
+import at.technikum.springrestbackend.service.BulkOrderService;
+import at.technikum.springrestbackend.service.PhoneService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+// Fills the in-memory database with a catalog of a realistic shape. Seeded with a fixed
+// value so two runs, e.g. with and without virtual threads, work on the same data.
+@Component
+@RequiredArgsConstructor
+public class CatalogSeeder {
+
+    private static final String[] BRANDS = {
+        "Apple", "Samsung", "Google", "Xiaomi", "OnePlus", "Sony", "Motorola", "Nokia"
+    };
+
+    private static final int[] MEMORY = {64, 128, 256, 512};
+
+    private final UserRepository userRepository;
+
+    private final PhoneService phoneService;
+
+    private final BulkOrderService bulkOrderService;
+
+    private final OrderProperties orderProperties;
+
+    private final PasswordEncoder passwordEncoder;
+
+    private final LoadTestProperties loadTestProperties;
+
+    public SeedData seed() {
+        Random random = new Random(42);
+        List<User> users = seedUsers();
+        List<UUID> phoneIds = seedPhones(random);
+        seedOrders(random, users, phoneIds);
+        return new SeedData(users.stream().map(User::getUsername).toList(),
+                users.stream().map(User::getId).toList(), phoneIds);
+    }
+
+    // all users share one hash, BCrypt for every row would dominate the setup time
+    private List<User> seedUsers() {
+        String hash = passwordEncoder.encode(loadTestProperties.getPassword());
+        List<User> users = new ArrayList<>(loadTestProperties.getUsers());
+        for (int i = 0; i < loadTestProperties.getUsers(); i++) {
+            users.add(new User("user" + i, hash, "ROLE_USER", "Load", "Test " + i,
+                    Salutation.values()[i % Salutation.values().length],
+                    "user" + i + "@loadtest.local", "AT", null, true));
+        }
+        List<User> saved = new ArrayList<>();
+        userRepository.saveAll(users).forEach(saved::add);
+        return saved;
+    }
+
+    private List<UUID> seedPhones(Random random) {
+        List<UUID> phoneIds = new ArrayList<>(loadTestProperties.getPhones());
+        for (int i = 0; i < loadTestProperties.getPhones(); i++) {
+            String brand = BRANDS[random.nextInt(BRANDS.length)];
+            Phone phone = new Phone(brand + " Model " + i, "Seeded by the load test",
+                    5.5f + random.nextInt(15) / 10f, MEMORY[random.nextInt(MEMORY.length)],
+                    3000 + random.nextInt(3000), 99f + random.nextInt(1200), brand);
+            phoneIds.add(phoneService.createPhone(phone).getId());
+        }
+        return phoneIds;
+    }
+
+    private void seedOrders(Random random, List<User> users, List<UUID> phoneIds) {
+        List<OrderIngestRequest> batch = new ArrayList<>();
+        for (int i = 0; i < loadTestProperties.getOrders(); i++) {
+            batch.add(randomOrder(random, users.get(random.nextInt(users.size())).getId(),
+                    phoneIds));
+            if (batch.size() == orderProperties.getMaxBulkSize()) {
+                bulkOrderService.ingest(batch);
+                batch = new ArrayList<>();
+            }
+        }
+        if (!batch.isEmpty()) {
+            bulkOrderService.ingest(batch);
+        }
+    }
+
+    static OrderIngestRequest randomOrder(Random random, UUID userId, List<UUID> phoneIds) {
+        OrderIngestRequest order = new OrderIngestRequest();
+        order.setUserId(userId);
+        List<UUID> phones = new ArrayList<>();
+        for (int i = 1 + random.nextInt(3); i > 0; i--) {
+            phones.add(phoneIds.get(random.nextInt(phoneIds.size())));
+        }
+        order.setPhoneIds(phones);
+        return order;
+    }
+
+    public record SeedData(List<String> usernames, List<UUID> userIds, List<UUID> phoneIds) {
+    }
+}
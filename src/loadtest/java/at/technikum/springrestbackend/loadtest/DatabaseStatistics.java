@@ -0,0 +1,47 @@
+package at.technikum.springrestbackend.loadtest;
+
+import at.technikum.springrestbackend.dto.CacheStatistics;
+import at.technikum.springrestbackend.service.CacheStatisticsService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Hibernate statement and cache counters plus the hit/miss counts of /stats/caches, taken
+// before and after a run so the database load behind the HTTP numbers is visible.
+final class DatabaseStatistics {
+
+    private final Map<String, Long> counters;
+
+    private DatabaseStatistics(Map<String, Long> counters) {
+        this.counters = counters;
+    }
+
+    static DatabaseStatistics take(EntityManagerFactory entityManagerFactory,
+                                   CacheStatisticsService cacheStatisticsService) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        Map<String, Long> counters = new LinkedHashMap<>();
+        counters.put("jdbc statements", statistics.getPrepareStatementCount());
+        counters.put("hql queries", statistics.getQueryExecutionCount());
+        counters.put("entity loads", statistics.getEntityLoadCount());
+        counters.put("entity fetches", statistics.getEntityFetchCount());
+        counters.put("l2 puts", statistics.getSecondLevelCachePutCount());
+        for (CacheStatistics cache : cacheStatisticsService.getCacheStatistics()) {
+            counters.put(cache.getName() + " hits", cache.getHits());
+            counters.put(cache.getName() + " misses", cache.getMisses());
+        }
+        return new DatabaseStatistics(counters);
+    }
+
+    void print(DatabaseStatistics after, double seconds) {
+        System.out.printf("%n%-28s %12s %12s %12s %10s%n",
+                "counter", "before", "after", "delta", "per s");
+        counters.forEach((name, before) -> {
+            long delta = after.counters.get(name) - before;
+            System.out.printf("%-28s %12d %12d %12d %10.1f%n", name, before,
+                    after.counters.get(name), delta, delta / seconds);
+        });
+    }
+}
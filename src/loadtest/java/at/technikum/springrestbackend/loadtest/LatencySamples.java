@@ -0,0 +1,49 @@
+package at.technikum.springrestbackend.loadtest;
+
+import java.util.Arrays;
+
+// Latencies of one endpoint in nanoseconds. Every client keeps its own instances,
+// they are only merged after the run, so recording needs no synchronization.
+class LatencySamples {
+
+    private long[] values = new long[1024];
+
+    private int size;
+
+    private int errors;
+
+    void record(long nanos, boolean success) {
+        if (size == values.length) {
+            values = Arrays.copyOf(values, size * 2);
+        }
+        values[size++] = nanos;
+        if (!success) {
+            errors++;
+        }
+    }
+
+    void addAll(LatencySamples other) {
+        for (int i = 0; i < other.size; i++) {
+            record(other.values[i], true);
+        }
+        errors += other.errors;
+    }
+
+    int count() {
+        return size;
+    }
+
+    int errors() {
+        return errors;
+    }
+
+    // nearest-rank percentile, sorts the samples in place
+    long percentile(double percentile) {
+        if (size == 0) {
+            return 0;
+        }
+        Arrays.sort(values, 0, size);
+        int rank = (int) Math.ceil(percentile / 100 * size);
+        return values[Math.max(0, rank - 1)];
+    }
+}
@@ -0,0 +1,25 @@
+package at.technikum.springrestbackend.loadtest;
+
+import at.technikum.springrestbackend.SpringRestBackendApplication;
+import org.springframework.boot.SpringApplication;
+
+import java.util.Map;
+
+// Both harness entry points start the application through here. On the test classpath the
+// near-empty src/test/resources/application.properties shadows the main one, so the main
+// file is named by path and the loadtest overrides are layered on top of it.
+final class LoadTestApplication {
+
+    static final String CONFIG_LOCATION = "file:src/main/resources/application.properties,"
+            + "classpath:/application-loadtest.properties";
+
+    private LoadTestApplication() {
+    }
+
+    static SpringApplication create() {
+        SpringApplication application = new SpringApplication(SpringRestBackendApplication.class);
+        application.setAdditionalProfiles("loadtest");
+        application.setDefaultProperties(Map.of("spring.config.location", CONFIG_LOCATION));
+        return application;
+    }
+}
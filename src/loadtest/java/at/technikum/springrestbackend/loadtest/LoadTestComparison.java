@@ -0,0 +1,75 @@
+package at.technikum.springrestbackend.loadtest;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+// Runs LoadTestRunner once per variant of a comparison, one application after the other in
+// this JVM, and prints requests and latency of both side by side. Each run has its own
+// warmup, but the second variant still starts on code the first one got compiled, so check
+// a small difference with one LoadTestRunner JVM per variant. The first argument picks the
+// comparison, the rest go to both runs:
+// -Dloadtest.main=at.technikum.springrestbackend.loadtest.LoadTestComparison
+// -Dloadtest.args="threads --loadtest.duration=60s"
+public class LoadTestComparison {
+
+    // tracing stays on with nothing sampled in the loadtest profile, so "traced" is the cost
+    // of the instrumentation itself, JDBC spans included
+    private static final Map<String, List<Variant>> COMPARISONS = Map.of(
+            "threads", List.of(
+                    new Variant("platform", "--spring.threads.virtual.enabled=false"),
+                    new Variant("virtual", "--spring.threads.virtual.enabled=true")),
+            "tracing", List.of(
+                    new Variant("traced", "--management.tracing.enabled=true"),
+                    new Variant("untraced", "--management.tracing.enabled=false",
+                            "--jdbc.datasource-proxy.enabled=false")));
+
+    public static void main(String[] args) throws Exception {
+        List<Variant> variants = args.length == 0 ? null : COMPARISONS.get(args[0]);
+        if (variants == null) {
+            throw new IllegalArgumentException("Pick a comparison: " + COMPARISONS.keySet());
+        }
+        String[] common = Arrays.copyOfRange(args, 1, args.length);
+        Map<String, Map<String, LatencySamples>> results = new LinkedHashMap<>();
+        for (Variant variant : variants) {
+            List<String> runArgs = new ArrayList<>(Arrays.asList(common));
+            runArgs.addAll(variant.args());
+            results.put(variant.name(), LoadTestRunner.measure(runArgs.toArray(String[]::new)));
+        }
+        print(results);
+    }
+
+    // requests are comparable as they are, every run measures for the same time
+    private static void print(Map<String, Map<String, LatencySamples>> results) {
+        Set<String> endpoints = new TreeSet<>();
+        results.values().forEach(samples -> endpoints.addAll(samples.keySet()));
+        System.out.printf("%n%-28s %-10s %10s %8s %10s %10s%n",
+                "endpoint", "variant", "requests", "errors", "p50 ms", "p99 ms");
+        for (String endpoint : endpoints) {
+            results.forEach((variant, samples) ->
+                    printRow(endpoint, variant, samples.getOrDefault(endpoint,
+                            new LatencySamples())));
+        }
+        results.forEach((variant, samples) -> {
+            LatencySamples total = new LatencySamples();
+            samples.values().forEach(total::addAll);
+            printRow("total", variant, total);
+        });
+    }
+
+    private static void printRow(String endpoint, String variant, LatencySamples samples) {
+        System.out.printf("%-28s %-10s %10d %8d %10.2f %10.2f%n", endpoint, variant,
+                samples.count(), samples.errors(), samples.percentile(50) / 1e6,
+                samples.percentile(99) / 1e6);
+    }
+
+    private record Variant(String name, List<String> args) {
+        Variant(String name, String... args) {
+            this(name, List.of(args));
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package at.technikum.springrestbackend.loadtest;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.List;
+
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties("loadtest")
+public class LoadTestProperties {
+    // size of the seeded data set
+    private int users = 200;
+
+    private int phones = 2_000;
+
+    private int orders = 5_000;
+
+    // number of clients, each sends its next request as soon as the previous one returned
+    private int concurrency = 32;
+
+    // samples taken during the warmup are dropped
+    private Duration warmup = Duration.ofSeconds(10);
+
+    private Duration duration = Duration.ofSeconds(30);
+
+    // every seeded user logs in with this password
+    private String password = "LoadTest@2024";
+
+    // PhoneImportBenchmark imports this many rows once per batch size
+    private int importRows = 50_000;
+
+    private List<Integer> importBatchSizes = List.of(100, 500, 2_000);
+
+    // rows saved one by one through PhoneService as the baseline, BulkOrderBenchmark sends
+    // as many orders in requests of their own
+    private int singleInsertRows = 2_000;
+
+    // BulkOrderBenchmark ingests this many orders once per batch size
+    private int bulkOrders = 20_000;
+
+    private List<Integer> bulkBatchSizes = List.of(50, 500, 2_000);
+}
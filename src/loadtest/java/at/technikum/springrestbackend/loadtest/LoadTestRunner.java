@@ -0,0 +1,114 @@
+package at.technikum.springrestbackend.loadtest;
+
+import at.technikum.springrestbackend.service.CacheStatisticsService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.Environment;
+
+import java.net.http.HttpClient;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+// Starts the application on an in-memory H2 database, seeds it and drives a closed-loop
+// mixed workload over HTTP. Prints p50/p99 latency and throughput per endpoint, followed by
+// the Hibernate and cache counters of the whole run including its warmup.
+// Arguments are passed on to Spring, e.g. --spring.threads.virtual.enabled=true
+// or --loadtest.concurrency=64. LoadTestComparison runs it once per variant.
+public class LoadTestRunner {
+
+    public static void main(String[] args) throws Exception {
+        measure(args);
+    }
+
+    // one run against a fresh application, which is stopped again before this returns
+    static Map<String, LatencySamples> measure(String[] args) throws Exception {
+        SpringApplication application = LoadTestApplication.create();
+        try (ConfigurableApplicationContext context = application.run(args)) {
+            LoadTestProperties properties = context.getBean(LoadTestProperties.class);
+            CatalogSeeder.SeedData seedData = context.getBean(CatalogSeeder.class).seed();
+            Environment environment = context.getEnvironment();
+            String baseUrl = "http://localhost:" + environment.getProperty("local.server.port");
+
+            EntityManagerFactory entityManagerFactory = context.getBean(EntityManagerFactory.class);
+            CacheStatisticsService cacheStatistics = context.getBean(CacheStatisticsService.class);
+            DatabaseStatistics before = DatabaseStatistics.take(entityManagerFactory,
+                    cacheStatistics);
+            Map<String, LatencySamples> results = run(properties, seedData, baseUrl,
+                    context.getBean(ObjectMapper.class));
+            DatabaseStatistics after = DatabaseStatistics.take(entityManagerFactory,
+                    cacheStatistics);
+            boolean virtualThreads = environment.getProperty(
+                    "spring.threads.virtual.enabled", Boolean.class, false);
+            print(results, properties, virtualThreads);
+            before.print(after, properties.getWarmup().plus(properties.getDuration())
+                    .toMillis() / 1000.0);
+            return results;
+        }
+    }
+
+    private static Map<String, LatencySamples> run(LoadTestProperties properties,
+                                                   CatalogSeeder.SeedData seedData,
+                                                   String baseUrl, ObjectMapper objectMapper)
+            throws Exception {
+        HttpClient httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1)
+                .build();
+        long warmupEnd = System.nanoTime() + properties.getWarmup().toNanos();
+        long end = warmupEnd + properties.getDuration().toNanos();
+        ExecutorService clients = Executors.newFixedThreadPool(properties.getConcurrency());
+        List<Future<Workload>> running = new ArrayList<>();
+        for (int i = 0; i < properties.getConcurrency(); i++) {
+            Workload workload = new Workload(httpClient, objectMapper, baseUrl, seedData,
+                    properties.getPassword(), i);
+            running.add(clients.submit(() -> drive(workload, warmupEnd, end)));
+        }
+
+        Map<String, LatencySamples> merged = new TreeMap<>();
+        for (Future<Workload> client : running) {
+            client.get().getSamples().forEach((endpoint, samples) ->
+                    merged.computeIfAbsent(endpoint, key -> new LatencySamples()).addAll(samples));
+        }
+        clients.shutdown();
+        return merged;
+    }
+
+    private static Workload drive(Workload workload, long warmupEnd, long end) throws Exception {
+        workload.login();
+        boolean warm = false;
+        while (System.nanoTime() < end) {
+            if (!warm && System.nanoTime() >= warmupEnd) {
+                workload.clearSamples();
+                warm = true;
+            }
+            workload.next();
+        }
+        return workload;
+    }
+
+    private static void print(Map<String, LatencySamples> results, LoadTestProperties properties,
+                              boolean virtualThreads) {
+        double seconds = properties.getDuration().toMillis() / 1000.0;
+        System.out.printf("%nThreads: %s, clients: %d, measured: %.0fs%n",
+                virtualThreads ? "virtual" : "platform", properties.getConcurrency(), seconds);
+        System.out.printf("%-28s %10s %8s %10s %10s %10s%n",
+                "endpoint", "requests", "errors", "req/s", "p50 ms", "p99 ms");
+        LatencySamples total = new LatencySamples();
+        results.forEach((endpoint, samples) -> {
+            total.addAll(samples);
+            printRow(endpoint, samples, seconds);
+        });
+        printRow("total", total, seconds);
+    }
+
+    private static void printRow(String endpoint, LatencySamples samples, double seconds) {
+        System.out.printf("%-28s %10d %8d %10.1f %10.2f %10.2f%n", endpoint,
+                samples.count(), samples.errors(), samples.count() / seconds,
+                samples.percentile(50) / 1e6, samples.percentile(99) / 1e6);
+    }
+}
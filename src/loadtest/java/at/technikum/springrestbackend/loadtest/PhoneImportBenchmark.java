@@ -0,0 +1,100 @@
+package at.technikum.springrestbackend.loadtest;
+
+import at.technikum.springrestbackend.dto.PhoneImportError;
+import at.technikum.springrestbackend.dto.PhoneImportProgress;
+import at.technikum.springrestbackend.model.Phone;
+import at.technikum.springrestbackend.property.CatalogProperties;
+import at.technikum.springrestbackend.service.PhoneImportService;
+import at.technikum.springrestbackend.service.PhoneService;
+import at.technikum.springrestbackend.util.ExportFormat;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ThreadLocalRandom;
+
+// Rows/sec of the catalog import on the loadtest H2 database. Every batch size imports the
+// same number of new phones and then updates all of them, so both inserts and updates are
+// measured. One-by-one saves through PhoneService are the baseline. Run it with
+// -Dloadtest.main=at.technikum.springrestbackend.loadtest.PhoneImportBenchmark
+public class PhoneImportBenchmark {
+
+    private static final String[] BRANDS = {"Apple", "Samsung", "Google", "Xiaomi", "Nokia"};
+
+    public static void main(String[] args) throws Exception {
+        SpringApplication application = LoadTestApplication.create();
+        try (ConfigurableApplicationContext context = application.run(args)) {
+            LoadTestProperties properties = context.getBean(LoadTestProperties.class);
+            CatalogProperties catalogProperties = context.getBean(CatalogProperties.class);
+            PhoneImportService importService = context.getBean(PhoneImportService.class);
+
+            System.out.printf("%n%-22s %10s %10s %10s %10s%n",
+                    "run", "rows", "failed", "seconds", "rows/s");
+            singleInserts(context.getBean(PhoneService.class), properties.getSingleInsertRows());
+            for (int batchSize : properties.getImportBatchSizes()) {
+                catalogProperties.setImportBatchSize(batchSize);
+                // the second file has the same names with new random values
+                String prefix = "batch" + batchSize;
+                run("insert, batch " + batchSize, importService,
+                        csv(prefix, properties.getImportRows()));
+                run("update, batch " + batchSize, importService,
+                        csv(prefix, properties.getImportRows()));
+            }
+        }
+    }
+
+    private static void singleInserts(PhoneService phoneService, int rows) {
+        long start = System.nanoTime();
+        for (int i = 0; i < rows; i++) {
+            phoneService.createPhone(new Phone("single-" + i, null, 6.1f, 128, 4000,
+                    499f, BRANDS[i % BRANDS.length]));
+        }
+        print("insert, one by one", rows, 0, System.nanoTime() - start);
+    }
+
+    private static void run(String name, PhoneImportService importService, byte[] csv)
+            throws IOException {
+        Result result = new Result();
+        long start = System.nanoTime();
+        importService.importPhones(ExportFormat.CSV, new ByteArrayInputStream(csv), result);
+        print(name, result.last.getProcessed(), result.last.getFailed(),
+                System.nanoTime() - start);
+    }
+
+    private static byte[] csv(String prefix, int rows) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        StringBuilder csv = new StringBuilder(
+                "name,description,displaySize,memory,battery,price,brand\r\n");
+        for (int i = 0; i < rows; i++) {
+            csv.append(prefix).append('-').append(i).append(",\"Imported, row ").append(i)
+                    .append("\",").append(5 + random.nextInt(3))
+                    .append('.').append(random.nextInt(10))
+                    .append(',').append(64 << random.nextInt(4))
+                    .append(',').append(3000 + random.nextInt(2000))
+                    .append(',').append(100 + random.nextInt(1500))
+                    .append(',').append(BRANDS[i % BRANDS.length]).append("\r\n");
+        }
+        return csv.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static void print(String name, long rows, long failed, long nanos) {
+        double seconds = nanos / 1e9;
+        System.out.printf("%-22s %10d %10d %10.2f %10.0f%n", name, rows, failed, seconds,
+                rows / seconds);
+    }
+
+    private static final class Result implements PhoneImportService.Listener {
+        private PhoneImportProgress last;
+
+        @Override
+        public void onError(PhoneImportError error) {
+        }
+
+        @Override
+        public void onProgress(PhoneImportProgress progress) {
+            last = progress;
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package at.technikum.springrestbackend.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+
+// One simulated client. Picks the next request by weight from a mix of logins,
+// catalog reads, order history reads and order placements.
+class Workload {
+
+    private static final String[] BRANDS = {"Apple", "Samsung", "Google", "Xiaomi"};
+
+    private final HttpClient httpClient;
+
+    private final ObjectMapper objectMapper;
+
+    private final String baseUrl;
+
+    private final CatalogSeeder.SeedData seedData;
+
+    private final String password;
+
+    private final Random random;
+
+    private final Map<String, LatencySamples> samples = new HashMap<>();
+
+    private String token;
+
+    Workload(HttpClient httpClient, ObjectMapper objectMapper, String baseUrl,
+             CatalogSeeder.SeedData seedData, String password, long seed) {
+        this.httpClient = httpClient;
+        this.objectMapper = objectMapper;
+        this.baseUrl = baseUrl;
+        this.seedData = seedData;
+        this.password = password;
+        this.random = new Random(seed);
+    }
+
+    Map<String, LatencySamples> getSamples() {
+        return samples;
+    }
+
+    void clearSamples() {
+        samples.clear();
+    }
+
+    void login() throws IOException, InterruptedException {
+        String username = seedData.usernames().get(random.nextInt(seedData.usernames().size()));
+        String body = objectMapper.writeValueAsString(
+                Map.of("username", username, "password", password));
+        HttpResponse<String> response = send("POST /auth/token",
+                post("/auth/token", body, false));
+        if (response.statusCode() == 200) {
+            token = objectMapper.readTree(response.body()).get("token").asText();
+        }
+    }
+
+    void next() throws IOException, InterruptedException {
+        int roll = random.nextInt(100);
+        if (roll < 5) {
+            login();
+        } else if (roll < 30) {
+            send("GET /phones/page", get("/phones/page?size=50"));
+        } else if (roll < 50) {
+            send("GET /phones/search", get("/phones/search?brand="
+                    + BRANDS[random.nextInt(BRANDS.length)] + "&maxPrice=800&size=20"));
+        } else if (roll < 75) {
+            send("GET /phone/{id}", get("/phone/" + randomOf(seedData.phoneIds())));
+        } else if (roll < 85) {
+            send("GET /orders/user/{userId}",
+                    get("/orders/user/" + randomOf(seedData.userIds()) + "?size=20"));
+        } else {
+            placeOrder();
+        }
+    }
+
+    // POST /orders expects a full entity graph, clients place single orders through the bulk API
+    private void placeOrder() throws IOException, InterruptedException {
+        String body = objectMapper.writeValueAsString(List.of(CatalogSeeder.randomOrder(
+                random, randomOf(seedData.userIds()), seedData.phoneIds())));
+        send("POST /orders/bulk", post("/orders/bulk", body, true));
+    }
+
+    private HttpResponse<String> send(String endpoint, HttpRequest request)
+            throws IOException, InterruptedException {
+        long started = System.nanoTime();
+        HttpResponse<String> response = httpClient.send(request,
+                HttpResponse.BodyHandlers.ofString());
+        long elapsed = System.nanoTime() - started;
+        samples.computeIfAbsent(endpoint, key -> new LatencySamples())
+                .record(elapsed, response.statusCode() < 400);
+        return response;
+    }
+
+    private HttpRequest get(String path) {
+        return authorized(HttpRequest.newBuilder(URI.create(baseUrl + path)).GET());
+    }
+
+    private HttpRequest post(String path, String body, boolean authorized) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body));
+        return authorized ? authorized(builder) : builder.build();
+    }
+
+    private HttpRequest authorized(HttpRequest.Builder builder) {
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder.build();
+    }
+
+    private UUID randomOf(List<UUID> ids) {
+        return ids.get(random.nextInt(ids.size()));
+    }
+}
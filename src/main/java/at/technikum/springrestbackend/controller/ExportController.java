@@ -0,0 +1,80 @@
+package at.technikum.springrestbackend.controller;
+
+import at.technikum.springrestbackend.service.ExportService;
+import at.technikum.springrestbackend.util.ExportFormat;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.GZIPOutputStream;
+
+@RestController
+@CrossOrigin(origins = "*")
+@PreAuthorize("hasRole('admin')")
+public class ExportController {
+
+    private static final int GZIP_BUFFER_SIZE = 64 * 1024;
+
+    private final ExportService exportService;
+
+    public ExportController(ExportService exportService) {
+        this.exportService = exportService;
+    }
+
+    @GetMapping("/export/users")
+    public void exportUsers(@RequestParam(defaultValue = "ndjson") String format,
+                            @RequestParam(defaultValue = "false") boolean gzip,
+                            HttpServletResponse response) throws IOException {
+        export("users", format, gzip, response, exportService::exportUsers);
+    }
+
+    @GetMapping("/export/phones")
+    public void exportPhones(@RequestParam(defaultValue = "ndjson") String format,
+                             @RequestParam(defaultValue = "false") boolean gzip,
+                             HttpServletResponse response) throws IOException {
+        export("phones", format, gzip, response, exportService::exportPhones);
+    }
+
+    @GetMapping("/export/orders")
+    public void exportOrders(@RequestParam(defaultValue = "ndjson") String format,
+                             @RequestParam(defaultValue = "false") boolean gzip,
+                             HttpServletResponse response) throws IOException {
+        export("orders", format, gzip, response, exportService::exportOrders);
+    }
+
+    // gzip produces a .gz download rather than a Content-Encoding, so it survives saving
+    private void export(String name, String formatName, boolean gzip,
+                        HttpServletResponse response, Exporter exporter) throws IOException {
+        ExportFormat format;
+        try {
+            format = ExportFormat.of(formatName);
+        } catch (IllegalArgumentException e) {
+            response.sendError(HttpServletResponse.SC_BAD_REQUEST, e.getMessage());
+            return;
+        }
+        String fileName = name + "." + format.getExtension() + (gzip ? ".gz" : "");
+        response.setContentType(
+                gzip ? "application/gzip" : format.getContentType() + ";charset=UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"" + fileName + "\"");
+        if (!gzip) {
+            exporter.export(format, response.getOutputStream());
+            return;
+        }
+        GZIPOutputStream out = new GZIPOutputStream(response.getOutputStream(), GZIP_BUFFER_SIZE);
+        exporter.export(format, out);
+        out.finish();
+        out.flush();
+    }
+
+    @FunctionalInterface
+    private interface Exporter {
+        void export(ExportFormat format, OutputStream out) throws IOException;
+    }
+}
@@ -0,0 +1,87 @@
+package at.technikum.springrestbackend.controller;
+
+import at.technikum.springrestbackend.dto.PhoneImportError;
+import at.technikum.springrestbackend.dto.PhoneImportProgress;
+import at.technikum.springrestbackend.service.PhoneImportService;
+import at.technikum.springrestbackend.util.ExportFormat;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.zip.GZIPInputStream;
+
+@RestController
+@CrossOrigin(origins = "*")
+@PreAuthorize("hasRole('admin')")
+public class ImportController {
+
+    private static final int GZIP_BUFFER_SIZE = 64 * 1024;
+
+    private final PhoneImportService phoneImportService;
+
+    private final ObjectMapper objectMapper;
+
+    public ImportController(PhoneImportService phoneImportService, ObjectMapper objectMapper) {
+        this.phoneImportService = phoneImportService;
+        this.objectMapper = objectMapper;
+    }
+
+    // Takes the CSV or NDJSON/JSON array of /export/phones, optionally gzipped. The answer is
+    // NDJSON: one line per failed row and one progress line per batch, the last one is done.
+    @PostMapping("/import/phones")
+    public void importPhones(@RequestParam(required = false) String format,
+                             HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+        ExportFormat importFormat;
+        try {
+            importFormat = format != null ? ExportFormat.of(format)
+                    : ExportFormat.of(isCsv(request) ? "csv" : "ndjson");
+        } catch (IllegalArgumentException e) {
+            response.sendError(HttpServletResponse.SC_BAD_REQUEST, e.getMessage());
+            return;
+        }
+        InputStream in = request.getInputStream();
+        if ("gzip".equalsIgnoreCase(request.getHeader(HttpHeaders.CONTENT_ENCODING))) {
+            in = new GZIPInputStream(in, GZIP_BUFFER_SIZE);
+        }
+        response.setContentType(ExportFormat.NDJSON.getContentType() + ";charset=UTF-8");
+        JsonGenerator generator = objectMapper.getFactory()
+                .createGenerator(response.getOutputStream())
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        try (SequenceWriter writer = objectMapper.writer()
+                .withRootValueSeparator("\n").writeValues(generator)) {
+            phoneImportService.importPhones(importFormat, in, new LineWriter(writer));
+        }
+        generator.writeRaw('\n');
+        generator.flush();
+    }
+
+    private static boolean isCsv(HttpServletRequest request) {
+        String contentType = request.getContentType();
+        return contentType != null && contentType.startsWith(ExportFormat.CSV.getContentType());
+    }
+
+    // progress is flushed right away, errors go out with the next progress line
+    private record LineWriter(SequenceWriter writer) implements PhoneImportService.Listener {
+        @Override
+        public void onError(PhoneImportError error) throws IOException {
+            writer.write(error);
+        }
+
+        @Override
+        public void onProgress(PhoneImportProgress progress) throws IOException {
+            writer.write(progress);
+            writer.flush();
+        }
+    }
+}
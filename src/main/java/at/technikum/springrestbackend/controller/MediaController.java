@@ -0,0 +1,141 @@
+package at.technikum.springrestbackend.controller;
+
+import at.technikum.springrestbackend.service.MediaStorageService;
+import at.technikum.springrestbackend.util.ByteRange;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+@RestController
+@CrossOrigin(origins = "*")
+public class MediaController {
+
+    // request attributes of Tomcat's sendfile support, see org.apache.coyote.Constants
+    private static final String SENDFILE_SUPPORTED = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private static final String IMMUTABLE = "public, max-age=31536000, immutable";
+    private static final String SHORT_LIVED = "public, max-age=3600";
+
+    private final MediaStorageService mediaStorageService;
+
+    public MediaController(MediaStorageService mediaStorageService) {
+        this.mediaStorageService = mediaStorageService;
+    }
+
+    @GetMapping("/media/{fileName}")
+    public void getImage(@PathVariable String fileName, HttpServletRequest request,
+                         HttpServletResponse response) throws IOException {
+        serve(mediaStorageService.resolve(fileName, false), request, response);
+    }
+
+    @GetMapping("/media/thumbnails/{fileName}")
+    public void getThumbnail(@PathVariable String fileName, HttpServletRequest request,
+                             HttpServletResponse response) throws IOException {
+        serve(mediaStorageService.resolve(fileName, true), request, response);
+    }
+
+    private void serve(Path file, HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+        if (file == null) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        String etag = mediaStorageService.etagOf(file);
+        long size = Files.size(file);
+        response.setHeader(HttpHeaders.ETAG, etag);
+        response.setHeader(HttpHeaders.CACHE_CONTROL,
+                mediaStorageService.isContentAddressed(file) ? IMMUTABLE : SHORT_LIVED);
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+
+        if (matches(request.getHeader(HttpHeaders.IF_NONE_MATCH), etag)) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+        sendBody(file, etag, size, request, response);
+    }
+
+    private void sendBody(Path file, String etag, long size, HttpServletRequest request,
+                          HttpServletResponse response) throws IOException {
+        ByteRange range;
+        try {
+            range = requestedRange(request, etag, size);
+        } catch (IllegalArgumentException e) {
+            response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + size);
+            response.sendError(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+            return;
+        }
+        if (range == null) {
+            range = new ByteRange(0, size - 1);
+        } else {
+            response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+            response.setHeader(HttpHeaders.CONTENT_RANGE,
+                    "bytes " + range.start() + "-" + range.end() + "/" + size);
+        }
+        String contentType = Files.probeContentType(file);
+        response.setContentType(contentType != null ? contentType : "application/octet-stream");
+        response.setContentLengthLong(range.length());
+        if (size > 0) {
+            transfer(file, range, request, response);
+        }
+    }
+
+    // If-Range needs a strong match, a weak or different validator or a date (no Last-Modified
+    // is sent) means the client's copy may be stale, so everything is sent
+    private ByteRange requestedRange(HttpServletRequest request, String etag, long size) {
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (ifRange != null && (etag.startsWith("W/") || !ifRange.trim().equals(etag))) {
+            return null;
+        }
+        return ByteRange.parse(request.getHeader(HttpHeaders.RANGE), size);
+    }
+
+    // hands the file to Tomcat's sendfile when available, else copies through FileChannel
+    private void transfer(Path file, ByteRange range, HttpServletRequest request,
+                          HttpServletResponse response) throws IOException {
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORTED))) {
+            request.setAttribute(SENDFILE_FILENAME, file.toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, range.start());
+            request.setAttribute(SENDFILE_END, range.end() + 1);
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(file)) {
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = range.start();
+            long remaining = range.length();
+            while (remaining > 0) {
+                long written = channel.transferTo(position, remaining, out);
+                position += written;
+                remaining -= written;
+            }
+        }
+    }
+
+    private static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        String opaque = etag.startsWith("W/") ? etag.substring(2) : etag;
+        for (String candidate : ifNoneMatch.split(",")) {
+            String value = candidate.trim();
+            if (value.equals("*") || value.equals(etag) || value.equals(opaque)
+                    || value.equals("W/" + opaque)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -1,36 +1,136 @@
 package at.technikum.springrestbackend.controller;
+import at.technikum.springrestbackend.dto.OrderIngestRequest;
+import at.technikum.springrestbackend.dto.OrderIngestResult;
+import at.technikum.springrestbackend.dto.OrderPage;
+import at.technikum.springrestbackend.dto.OrderPlacementRequest;
+import at.technikum.springrestbackend.dto.OrderPlacementStatus;
+import at.technikum.springrestbackend.dto.OrderSummary;
 import at.technikum.springrestbackend.model.Orders;
-import at.technikum.springrestbackend.model.User;
+import at.technikum.springrestbackend.property.OrderProperties;
+import at.technikum.springrestbackend.service.BulkOrderService;
+import at.technikum.springrestbackend.service.OrderPlacementPipeline;
 import at.technikum.springrestbackend.service.OrderService;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.IOException;
 import java.util.List;
+import java.util.NoSuchElementException;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 @RestController
 public class OrderController {
 
+    private static final String NDJSON = "application/x-ndjson";
+
     private final OrderService orderService;
 
-    public OrderController(OrderService orderService) {
+    private final BulkOrderService bulkOrderService;
+
+    private final OrderPlacementPipeline orderPlacementPipeline;
+
+    private final OrderProperties orderProperties;
+
+    public OrderController(OrderService orderService, BulkOrderService bulkOrderService,
+                           OrderPlacementPipeline orderPlacementPipeline,
+                           OrderProperties orderProperties) {
         this.orderService = orderService;
+        this.bulkOrderService = bulkOrderService;
+        this.orderPlacementPipeline = orderPlacementPipeline;
+        this.orderProperties = orderProperties;
     }
 
     @GetMapping("/orders")
-    public List<Orders> getOrders() {
+    public List<OrderSummary> getOrders() {
         return orderService.getOrders();
     }
 
     @GetMapping("/orders/{id}")
-    public Orders getOrder(@PathVariable UUID id) {
+    public OrderSummary getOrder(@PathVariable UUID id) {
         return orderService.getOrder(id);
     }
-    @GetMapping("/orders/{user}")
-    public List<Orders> getOrdersUsers(User user){
-        return orderService.getOrdersUser(user);
+    @GetMapping("/orders/user/{userId}")
+    public ResponseEntity<Object> getOrdersUsers(@PathVariable UUID userId,
+                                                 @RequestParam(required = false) String token,
+                                                 @RequestParam(required = false) Integer size){
+        try {
+            OrderPage page = orderService.getOrderHistory(userId, token, size);
+            return new ResponseEntity<>(page, HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
+        }
+    }
+    @GetMapping(value = "/orders/user/{userId}/export", produces = NDJSON)
+    public void exportOrdersUser(@PathVariable UUID userId, HttpServletResponse response)
+            throws IOException {
+        response.setContentType(NDJSON);
+        orderService.exportOrderHistory(userId, response.getOutputStream());
     }
     @PostMapping("/orders")
-    public Orders createOrder(@RequestBody Orders order){
+    public OrderSummary createOrder(@RequestBody Orders order){
         return orderService.createOrder(order);
     }
+    @PostMapping("/orders/bulk")
+    public ResponseEntity<Object> createOrders(@RequestBody List<OrderIngestRequest> orders){
+        try {
+            List<OrderIngestResult> results = bulkOrderService.ingest(orders);
+            return new ResponseEntity<>(results, HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    // answers right away, the order is checked, reserved and stored in the background
+    @PostMapping("/orders/placements")
+    public ResponseEntity<Object> placeOrder(@RequestBody OrderPlacementRequest request) {
+        try {
+            OrderPlacementStatus status = orderPlacementPipeline.place(request);
+            return new ResponseEntity<>(status, HttpStatus.ACCEPTED);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
+        } catch (IllegalStateException e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.SERVICE_UNAVAILABLE);
+        }
+    }
+
+    @GetMapping("/orders/placements/{id}")
+    public ResponseEntity<Object> getPlacement(@PathVariable UUID id) {
+        try {
+            return new ResponseEntity<>(orderPlacementPipeline.getStatus(id), HttpStatus.OK);
+        } catch (NoSuchElementException e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.NOT_FOUND);
+        }
+    }
+
+    // server-sent events with the current status and every change, closed after the final one
+    @GetMapping(value = "/orders/placements/{id}/events",
+            produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter subscribePlacement(@PathVariable UUID id) {
+        SseEmitter emitter = new SseEmitter(
+                orderProperties.getPlacementSubscriptionTimeout().toMillis());
+        Consumer<OrderPlacementStatus> listener = status -> {
+            try {
+                emitter.send(status);
+                if (status.getState().isFinal()) {
+                    emitter.complete();
+                }
+            } catch (IOException e) {
+                emitter.completeWithError(e);
+            }
+        };
+        emitter.onCompletion(() -> orderPlacementPipeline.unsubscribe(id, listener));
+        emitter.onTimeout(emitter::complete);
+        try {
+            orderPlacementPipeline.subscribe(id, listener);
+        } catch (NoSuchElementException e) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, e.getMessage());
+        }
+        return emitter;
+    }
 }
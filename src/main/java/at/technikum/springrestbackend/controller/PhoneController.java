@@ -1,25 +1,32 @@
 package at.technikum.springrestbackend.controller;
 
+import at.technikum.springrestbackend.dto.PhoneFacets;
+import at.technikum.springrestbackend.dto.PhonePage;
+import at.technikum.springrestbackend.dto.PhoneSearchRequest;
 import at.technikum.springrestbackend.model.Brand;
 import at.technikum.springrestbackend.model.Phone;
 import at.technikum.springrestbackend.model.User;
 import at.technikum.springrestbackend.service.BrandService;
+import at.technikum.springrestbackend.service.CatalogResponseCache;
+import at.technikum.springrestbackend.service.MediaStorageService;
 import at.technikum.springrestbackend.service.PhoneService;
 import at.technikum.springrestbackend.service.UserService;
 import com.auth0.jwt.exceptions.TokenExpiredException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Page;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
 import java.util.List;
+import java.util.NoSuchElementException;
 import java.util.UUID;
 
 @RestController
@@ -31,46 +38,79 @@ public class PhoneController {
 
     private final BrandService brandService;
 
-    public PhoneController(PhoneService phoneService, UserService userService, BrandService brandService) {
+    private final MediaStorageService mediaStorageService;
+
+    private final CatalogResponseCache catalogResponseCache;
+
+    public PhoneController(PhoneService phoneService, UserService userService,
+                           BrandService brandService, MediaStorageService mediaStorageService,
+                           CatalogResponseCache catalogResponseCache) {
         this.phoneService = phoneService;
         this.userService = userService;
         this.brandService = brandService;
+        this.mediaStorageService = mediaStorageService;
+        this.catalogResponseCache = catalogResponseCache;
     }
 
     @GetMapping("/phones")
-    public List<Phone> getPhones() {
-        return phoneService.getPhones();
+    public void getPhones(HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+        catalogResponseCache.write("phones", phoneService::getPhones, request, response);
+    }
+
+    @GetMapping("/phones/page")
+    public ResponseEntity<Object> getPhonePage(@RequestParam(required = false) String token,
+                                               @RequestParam(required = false) Integer size) {
+        try {
+            PhonePage page = phoneService.getPhonePage(token, size);
+            return new ResponseEntity<>(page, HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
+        }
     }
 
     @GetMapping("/phone/{id}")
-    public Phone getPhone(@PathVariable UUID id) {
-        return phoneService.getPhone(id);
+    public void getPhone(@PathVariable UUID id, HttpServletRequest request,
+                         HttpServletResponse response) throws IOException {
+        catalogResponseCache.write("phone:" + id, () -> phoneService.getPhone(id),
+                request, response);
     }
 
     @GetMapping("/phones/{name}")
     public List<Phone> getPhonesName(@PathVariable String name){
         return phoneService.getPhonesName(name);
     }
-    @GetMapping("/phones/{display}")
-    public List<Phone> getPhoneDisplay(@PathVariable float displaysize){
-        return phoneService.getPhonesDisplay(displaysize);
-    }
-    @GetMapping("/phones/{memory}")
-    public List<Phone> getPhonesMemory(@PathVariable int memory){
-        return phoneService.getPhonesMemory(memory);
-    }
-    @GetMapping("/phones/{battery}")
-    public List<Phone> getPhonesBattery(@PathVariable int battery){
-        return phoneService.getPhonesBattery(battery);
+
+    @GetMapping("/phones/search")
+    public ResponseEntity<Object> searchPhones(PhoneSearchRequest searchRequest) {
+        try {
+            Page<Phone> result = phoneService.searchPhones(searchRequest);
+            return new ResponseEntity<>(result, HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
+        }
     }
-    @GetMapping("/phones/{price}")
-    public List<Phone> getPhonePrice(@PathVariable float price){
-        return phoneService.getPhonesPrice(price);
+
+    @GetMapping("/phones/facets")
+    public ResponseEntity<Object> getPhoneFacets(PhoneSearchRequest searchRequest) {
+        try {
+            PhoneFacets facets = phoneService.getPhoneFacets(searchRequest);
+            return new ResponseEntity<>(facets, HttpStatus.OK);
+        } catch (IllegalStateException e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.SERVICE_UNAVAILABLE);
+        }
     }
-    @GetMapping("/phones/{brand}")
-    public List<Phone> getPhonesBrand(@PathVariable Brand brand){
-        return phoneService.getPhonesBrand(brand);
+
+    @GetMapping("/phones/filter")
+    public ResponseEntity<Object> filterPhoneIds(PhoneSearchRequest searchRequest) {
+        try {
+            List<UUID> ids = phoneService.getPhoneIds(searchRequest);
+            return new ResponseEntity<>(ids, HttpStatus.OK);
+        } catch (IllegalStateException e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.SERVICE_UNAVAILABLE);
+        }
     }
+
     @PostMapping("/addPhone/{username}/{brand}")
     public ResponseEntity<Object> createPhone(@PathVariable @Valid String username,
                                               @PathVariable @Valid String brand,
@@ -86,19 +126,7 @@ public class PhoneController {
         }
 
         try {
-            String directoryPath = "../Frontend/src/pics";
-
-            Path directory = Paths.get(directoryPath);
-            if (!Files.exists(directory)) {
-                Files.createDirectories(directory);
-            }
-
-
-
-            String fileName = file.getOriginalFilename();
-            Path filePath = directory.resolve(fileName);
-
-            Files.copy(file.getInputStream(), filePath);
+            String fileName = mediaStorageService.store(file);
             Phone phone = phoneService.getPhone(id) ;
             if(phone == null ){
                 return new ResponseEntity<>("Phone not found", HttpStatus.NOT_FOUND);
@@ -108,6 +136,8 @@ public class PhoneController {
 
 
 
+        } catch (IllegalArgumentException ex) {
+            return new ResponseEntity<>(ex.getMessage(), HttpStatus.BAD_REQUEST);
         } catch (IOException ex) {
             return new ResponseEntity<>("An error occurred while uploading your file.", HttpStatus.INTERNAL_SERVER_ERROR);
         }
@@ -142,6 +172,20 @@ public class PhoneController {
 
     }
 
+    @PutMapping("/phones/{id}/stock")
+    @PreAuthorize("hasRole('admin')")
+    public ResponseEntity<Object> setStock(@PathVariable UUID id,
+                                           @RequestParam(required = false) Integer quantity) {
+        try {
+            phoneService.setStock(id, quantity);
+            return new ResponseEntity<>("Stock has been updated", HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
+        } catch (NoSuchElementException e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.NOT_FOUND);
+        }
+    }
+
     @DeleteMapping("/deletePhone/{id}")
     public ResponseEntity<Object> deletePhone(@PathVariable UUID id) {
 
@@ -0,0 +1,23 @@
+package at.technikum.springrestbackend.controller;
+
+import at.technikum.springrestbackend.dto.CacheStatistics;
+import at.technikum.springrestbackend.service.CacheStatisticsService;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+public class StatsController {
+
+    private final CacheStatisticsService cacheStatisticsService;
+
+    public StatsController(CacheStatisticsService cacheStatisticsService) {
+        this.cacheStatisticsService = cacheStatisticsService;
+    }
+
+    @GetMapping("/stats/caches")
+    public List<CacheStatistics> getCacheStatistics() {
+        return cacheStatisticsService.getCacheStatistics();
+    }
+}
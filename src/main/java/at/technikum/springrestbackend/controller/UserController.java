@@ -1,23 +1,26 @@
 package at.technikum.springrestbackend.controller;
 
+import at.technikum.springrestbackend.dto.UserDirectoryRequest;
+import at.technikum.springrestbackend.dto.UserPage;
 import at.technikum.springrestbackend.model.User;
 import at.technikum.springrestbackend.security.JwtToPrincipalConverter;
+import at.technikum.springrestbackend.service.MediaStorageService;
 import at.technikum.springrestbackend.service.UserService;
+import at.technikum.springrestbackend.util.PasswordPolicy;
 import at.technikum.springrestbackend.util.UserValidator;
 import com.auth0.jwt.exceptions.TokenExpiredException;
 import io.swagger.v3.oas.annotations.parameters.RequestBody;
 import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 import java.util.UUID;
@@ -27,10 +30,18 @@ import java.util.UUID;
 public class UserController {
     private final UserService userService;
     private final UserValidator userValidator;
+    private final PasswordEncoder passwordEncoder;
+    private final MediaStorageService mediaStorageService;
+    private final PasswordPolicy passwordPolicy;
 
-    public UserController(UserService userService, UserValidator userValidator) {
+    public UserController(UserService userService, UserValidator userValidator,
+                          PasswordEncoder passwordEncoder, MediaStorageService mediaStorageService,
+                          PasswordPolicy passwordPolicy) {
         this.userService = userService;
         this.userValidator = userValidator;
+        this.passwordEncoder = passwordEncoder;
+        this.mediaStorageService = mediaStorageService;
+        this.passwordPolicy = passwordPolicy;
     }
 
     @GetMapping("/users")
@@ -38,6 +49,17 @@ public class UserController {
         return userService.getUsers();
     }
 
+    @GetMapping("/users/directory")
+    @PreAuthorize("hasRole('admin')")
+    public ResponseEntity<Object> getUserDirectory(UserDirectoryRequest directoryRequest) {
+        try {
+            UserPage page = userService.getUserDirectory(directoryRequest);
+            return new ResponseEntity<>(page, HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
+        }
+    }
+
     @GetMapping("/users/userid/{id}")
     public User getUser(@PathVariable UUID id) {
         return userService.getUser(id);
@@ -132,12 +154,13 @@ public class UserController {
     }
 
     private ResponseEntity<Object> handleUserCreation(User user) {
-        List<String> validationErrors = userValidator.validateUserRegistration(user);
+        List<String> validationErrors =
+                new ArrayList<>(userValidator.validateUserRegistration(user));
+        validationErrors.addAll(passwordPolicy.describe(passwordPolicy.check(user.getPassword())));
         if (!validationErrors.isEmpty()) {
             return new ResponseEntity<>(validationErrors, HttpStatus.BAD_REQUEST);
         }
 
-        BCryptPasswordEncoder passwordEncoder = new BCryptPasswordEncoder();
         user.setPassword(passwordEncoder.encode(user.getPassword()));
 
         try {
@@ -160,6 +183,15 @@ public class UserController {
         return new ResponseEntity<>("User deleted successfully", HttpStatus.OK);
     }
 
+    // null when the password satisfies the policy
+    private ResponseEntity<Object> rejectPassword(String password) {
+        int failures = passwordPolicy.check(password);
+        if (failures == 0) {
+            return null;
+        }
+        return new ResponseEntity<>(passwordPolicy.describe(failures), HttpStatus.BAD_REQUEST);
+    }
+
     private ResponseEntity<Object> handleUserUpdate(String name, User updatedUser) {
         String username = JwtToPrincipalConverter.getCurrentUsername();
         String userRole = JwtToPrincipalConverter.getCurrentUserRole();
@@ -172,7 +204,11 @@ public class UserController {
 
             int affectedRows = 0;
 
-        BCryptPasswordEncoder passwordEncoder = new BCryptPasswordEncoder();
+        ResponseEntity<Object> passwordRejection = rejectPassword(updatedUser.getPassword());
+        if (passwordRejection != null) {
+            return passwordRejection;
+        }
+
         updatedUser.setPassword(passwordEncoder.encode(updatedUser.getPassword()));
 
         try{
@@ -185,13 +221,9 @@ public class UserController {
                     updatedUser.getLastname(),
                     updatedUser.getSalutation(),
                     updatedUser.getEmail(),
-                    updatedUser.getCountryCode(),
-                    updatedUser.getPostalCode(),
-                    updatedUser.getStreet(),
-                    updatedUser.getCity(),
-                    updatedUser.getHouseNumber(),
+                    updatedUser.getCountry(),
                     updatedUser.getProfilePicture(),
-                    updatedUser.getStatus()
+                    updatedUser.isStatus()
             );
         }catch (TokenExpiredException e){
             return new ResponseEntity<>("The JWT Token is expired, pleas login in again", HttpStatus.UNAUTHORIZED);
@@ -215,25 +247,15 @@ public class UserController {
         }
 
         try {
-             String directoryPath = "../Frontend/src/pics";
-
-             Path directory = Paths.get(directoryPath);
-            if (!Files.exists(directory)) {
-                Files.createDirectories(directory);
-            }
-
-
-
-            String fileName = file.getOriginalFilename();
-            Path filePath = directory.resolve(fileName);
-
-            Files.copy(file.getInputStream(), filePath);
+            String fileName = mediaStorageService.store(file);
             User user = userService.getUserByUsername(username);
             user.setProfilePicture(fileName);
             return handleUserUpdate(username, user);
 
 
 
+        } catch (IllegalArgumentException ex) {
+            return new ResponseEntity<>(ex.getMessage(), HttpStatus.BAD_REQUEST);
         } catch (IOException ex) {
             return new ResponseEntity<>("An error occurred while uploading your file.", HttpStatus.INTERNAL_SERVER_ERROR);
         }
@@ -0,0 +1,15 @@
+package at.technikum.springrestbackend.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+import java.util.UUID;
+
+@Getter
+@Setter
+public class OrderIngestRequest {
+    private UUID userId;
+
+    private List<UUID> phoneIds;
+}
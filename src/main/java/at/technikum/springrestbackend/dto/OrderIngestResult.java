@@ -0,0 +1,27 @@
+package at.technikum.springrestbackend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.UUID;
+
+@Getter
+@Setter
+@AllArgsConstructor
+public class OrderIngestResult {
+    // position of the order in the submitted batch
+    private int index;
+
+    private UUID orderId;
+
+    private String error;
+
+    public static OrderIngestResult created(int index, UUID orderId) {
+        return new OrderIngestResult(index, orderId, null);
+    }
+
+    public static OrderIngestResult failed(int index, String error) {
+        return new OrderIngestResult(index, null, error);
+    }
+}
@@ -0,0 +1,25 @@
+package at.technikum.springrestbackend.dto;
+
+import at.technikum.springrestbackend.model.Phone;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.UUID;
+
+@Getter
+@Setter
+@AllArgsConstructor
+public class OrderLine {
+    private UUID phoneId;
+
+    private String name;
+
+    private String brand;
+
+    private float price;
+
+    public static OrderLine from(Phone phone) {
+        return new OrderLine(phone.getId(), phone.getName(), phone.getBrand(), phone.getPrice());
+    }
+}
@@ -0,0 +1,28 @@
+package at.technikum.springrestbackend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.sql.Timestamp;
+import java.util.UUID;
+
+// one flat (order, phone) row of the export query, phone columns are null for empty orders
+@Getter
+@AllArgsConstructor
+public class OrderLineRow {
+    private UUID orderId;
+
+    private Timestamp timestamp;
+
+    private UUID userId;
+
+    private String username;
+
+    private UUID phoneId;
+
+    private String phoneName;
+
+    private String brand;
+
+    private Float price;
+}
@@ -0,0 +1,19 @@
+package at.technikum.springrestbackend.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+import java.util.UUID;
+
+@Getter
+@Setter
+public class OrderPlacementRequest {
+    private UUID userId;
+
+    // a phone listed twice is ordered twice
+    private List<UUID> phoneIds;
+
+    // total the client has shown, the order is rejected when current prices add up differently
+    private Float expectedTotal;
+}
@@ -0,0 +1,28 @@
+package at.technikum.springrestbackend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.UUID;
+
+// snapshot of a placement, a new one is published on every state change
+@Getter
+@AllArgsConstructor
+public class OrderPlacementStatus {
+    private UUID id;
+
+    private State state;
+
+    // set once the order is stored
+    private UUID orderId;
+
+    private String error;
+
+    public enum State {
+        QUEUED, RESERVING, PERSISTING, PLACED, REJECTED;
+
+        public boolean isFinal() {
+            return this == PLACED || this == REJECTED;
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package at.technikum.springrestbackend.dto;
+
+import at.technikum.springrestbackend.model.Orders;
+import at.technikum.springrestbackend.model.User;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.UUID;
+
+// lean read model for order lists, never exposes the User entity
+@Getter
+@Setter
+@AllArgsConstructor
+public class OrderSummary {
+    private UUID id;
+
+    private Timestamp timestamp;
+
+    private UUID userId;
+
+    private String username;
+
+    private List<OrderLine> phones;
+
+    public static OrderSummary from(Orders order) {
+        User user = order.getUser();
+        return new OrderSummary(
+                order.getId(),
+                order.getTimestamp(),
+                user == null ? null : user.getId(),
+                user == null ? null : user.getUsername(),
+                order.getPhones().stream().map(OrderLine::from).toList()
+        );
+    }
+
+    // folds consecutive rows of the same order into one summary, only one order is held at a time
+    public static Iterator<OrderSummary> group(Iterator<OrderLineRow> rows) {
+        return new Iterator<>() {
+            private OrderLineRow pending = rows.hasNext() ? rows.next() : null;
+
+            @Override
+            public boolean hasNext() {
+                return pending != null;
+            }
+
+            @Override
+            public OrderSummary next() {
+                if (pending == null) {
+                    throw new NoSuchElementException();
+                }
+                OrderLineRow first = pending;
+                OrderSummary order = new OrderSummary(first.getOrderId(), first.getTimestamp(),
+                        first.getUserId(), first.getUsername(), new ArrayList<>());
+                while (pending != null && pending.getOrderId().equals(order.getId())) {
+                    if (pending.getPhoneId() != null) {
+                        order.getPhones().add(new OrderLine(pending.getPhoneId(),
+                                pending.getPhoneName(), pending.getBrand(), pending.getPrice()));
+                    }
+                    pending = rows.hasNext() ? rows.next() : null;
+                }
+                return order;
+            }
+        };
+    }
+}
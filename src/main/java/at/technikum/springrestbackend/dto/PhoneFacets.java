@@ -0,0 +1,20 @@
+package at.technikum.springrestbackend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.Map;
+
+@Getter
+@Setter
+@AllArgsConstructor
+public class PhoneFacets {
+    private int total;
+
+    private Map<String, Integer> brands;
+
+    private Map<Integer, Integer> memory;
+
+    private Map<String, Integer> priceRanges;
+}
@@ -0,0 +1,13 @@
+package at.technikum.springrestbackend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class PhoneImportError {
+    // 1-based position of the row in the upload, the CSV header does not count
+    private long row;
+
+    private String error;
+}
@@ -0,0 +1,19 @@
+package at.technikum.springrestbackend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class PhoneImportProgress {
+    private long processed;
+
+    private long created;
+
+    private long updated;
+
+    private long failed;
+
+    // only the last progress line of an import is done
+    private boolean done;
+}
@@ -0,0 +1,28 @@
+package at.technikum.springrestbackend.dto;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+// One line of a catalog import. Values are kept as text so a bad number fails its row,
+// not the whole upload; CSV headers and JSON fields use the names of the export.
+@Getter
+@Setter
+@NoArgsConstructor
+public class PhoneImportRow {
+    private String name;
+
+    private String description;
+
+    private String displaySize;
+
+    private String memory;
+
+    private String battery;
+
+    private String price;
+
+    private String brand;
+
+    private String picture;
+}
@@ -0,0 +1,18 @@
+package at.technikum.springrestbackend.dto;
+
+import at.technikum.springrestbackend.model.Phone;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@AllArgsConstructor
+public class PhonePage {
+    private List<Phone> phones;
+
+    // opaque token for the next page, null on the last page
+    private String nextToken;
+}
@@ -0,0 +1,29 @@
+package at.technikum.springrestbackend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.UUID;
+
+// flat phone columns for exports, read without loading managed entities
+@Getter
+@AllArgsConstructor
+public class PhoneRow {
+    private UUID id;
+
+    private String name;
+
+    private String description;
+
+    private float displaySize;
+
+    private int memory;
+
+    private int battery;
+
+    private float price;
+
+    private String brand;
+
+    private String picture;
+}
@@ -0,0 +1,33 @@
+package at.technikum.springrestbackend.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class PhoneSearchRequest {
+    private Float minPrice;
+    private Float maxPrice;
+
+    private Integer minMemory;
+    private Integer maxMemory;
+
+    private Integer minBattery;
+    private Integer maxBattery;
+
+    private Float minDisplaySize;
+    private Float maxDisplaySize;
+
+    private String brand;
+
+    private String namePrefix;
+
+    // one of price, memory, battery, displaySize, name
+    private String sort = "price";
+
+    private String direction = "asc";
+
+    private int page = 0;
+
+    private Integer size;
+}
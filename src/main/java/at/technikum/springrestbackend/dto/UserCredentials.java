@@ -0,0 +1,19 @@
+package at.technikum.springrestbackend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.UUID;
+
+// the only user columns the login path needs
+@Getter
+@AllArgsConstructor
+public class UserCredentials {
+    private UUID id;
+
+    private String username;
+
+    private String password;
+
+    private String role;
+}
@@ -0,0 +1,23 @@
+package at.technikum.springrestbackend.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+// filters of the admin user directory, null means not filtered
+@Getter
+@Setter
+public class UserDirectoryRequest {
+    private String role;
+
+    private String firstname;
+
+    private String lastname;
+
+    private String country;
+
+    private Boolean status;
+
+    private String token;
+
+    private Integer size;
+}
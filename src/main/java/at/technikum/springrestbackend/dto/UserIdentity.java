@@ -0,0 +1,13 @@
+package at.technikum.springrestbackend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// the unique columns of a user, streamed to build the UserIdentityFilter
+@Getter
+@AllArgsConstructor
+public class UserIdentity {
+    private String username;
+
+    private String email;
+}
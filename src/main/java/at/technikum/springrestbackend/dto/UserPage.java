@@ -0,0 +1,17 @@
+package at.technikum.springrestbackend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@AllArgsConstructor
+public class UserPage {
+    private List<UserSummary> users;
+
+    // opaque token for the next page, null on the last page
+    private String nextToken;
+}
@@ -0,0 +1,32 @@
+package at.technikum.springrestbackend.dto;
+
+import at.technikum.springrestbackend.model.Salutation;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.UUID;
+
+// what the admin user list shows, never the password hash
+@Getter
+@Setter
+@AllArgsConstructor
+public class UserSummary {
+    private UUID id;
+
+    private String username;
+
+    private String role;
+
+    private Salutation salutation;
+
+    private String firstname;
+
+    private String lastname;
+
+    private String email;
+
+    private String country;
+
+    private boolean status;
+}
@@ -0,0 +1,152 @@
+package at.technikum.springrestbackend.metrics;
+
+import at.technikum.springrestbackend.security.OffloadingPasswordEncoder;
+import at.technikum.springrestbackend.security.jwt.JwtDecoder;
+import at.technikum.springrestbackend.security.user.UserCredentialsCache;
+import at.technikum.springrestbackend.service.CatalogResponseCache;
+import at.technikum.springrestbackend.service.OrderPlacementPipeline;
+import at.technikum.springrestbackend.service.OrderPlacementPipeline.StageTimer;
+import at.technikum.springrestbackend.service.PhoneImportService;
+import at.technikum.springrestbackend.service.StockReservations;
+import at.technikum.springrestbackend.service.UserIdentityFilter;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+// Publishes the counters our own components already keep. Everything is read when the
+// registry is scraped, nothing is added to the request path. Request timings, Hikari and
+// Hibernate (including the phone region) are bound by Spring Boot itself.
+@Component
+@RequiredArgsConstructor
+public class ApplicationMetrics implements MeterBinder {
+
+    private final JwtDecoder jwtDecoder;
+
+    private final UserCredentialsCache userCredentialsCache;
+
+    private final CatalogResponseCache catalogResponseCache;
+
+    private final OffloadingPasswordEncoder passwordEncoder;
+
+    private final UserIdentityFilter userIdentityFilter;
+
+    private final PhoneImportService phoneImportService;
+
+    private final OrderPlacementPipeline orderPlacementPipeline;
+
+    private final StockReservations stockReservations;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        bindCache(registry, "jwt", jwtDecoder::getCacheStats);
+        bindCache(registry, "login", userCredentialsCache::getCacheStats);
+        bindCache(registry, "catalog-responses", catalogResponseCache::getCacheStats);
+        bindJwt(registry);
+        bindPasswordHashing(registry);
+        bindIdentityFilter(registry);
+        bindPhoneImport(registry);
+        bindOrderPlacement(registry);
+    }
+
+    // same names and tags as Micrometer's CaffeineCacheMetrics
+    private static void bindCache(MeterRegistry registry, String name, Supplier<CacheStats> stats) {
+        FunctionCounter.builder("cache.gets", stats, s -> s.get().hitCount())
+                .tag("cache", name).tag("result", "hit").register(registry);
+        FunctionCounter.builder("cache.gets", stats, s -> s.get().missCount())
+                .tag("cache", name).tag("result", "miss").register(registry);
+        FunctionCounter.builder("cache.evictions", stats, s -> s.get().evictionCount())
+                .tag("cache", name).register(registry);
+    }
+
+    private void bindJwt(MeterRegistry registry) {
+        FunctionCounter.builder("jwt.verification.failures", jwtDecoder,
+                        JwtDecoder::getExpiredTokenCount)
+                .tag("reason", "expired").register(registry);
+        FunctionCounter.builder("jwt.verification.failures", jwtDecoder,
+                        JwtDecoder::getInvalidTokenCount)
+                .tag("reason", "invalid").register(registry);
+    }
+
+    private void bindPasswordHashing(MeterRegistry registry) {
+        Gauge.builder("password.hashing.queue.depth", passwordEncoder,
+                OffloadingPasswordEncoder::getQueueDepth).register(registry);
+        Gauge.builder("password.hashing.active", passwordEncoder,
+                OffloadingPasswordEncoder::getActiveCount).register(registry);
+        FunctionCounter.builder("password.hashing.rejected", passwordEncoder,
+                OffloadingPasswordEncoder::getRejectedCount).register(registry);
+        FunctionTimer.builder("password.hashing", passwordEncoder,
+                        OffloadingPasswordEncoder::getCompletedCount,
+                        OffloadingPasswordEncoder::getHashingTimeNanos, TimeUnit.NANOSECONDS)
+                .register(registry);
+        FunctionTimer.builder("password.hashing.queued", passwordEncoder,
+                        OffloadingPasswordEncoder::getCompletedCount,
+                        OffloadingPasswordEncoder::getQueueTimeNanos, TimeUnit.NANOSECONDS)
+                .register(registry);
+    }
+
+    private void bindIdentityFilter(MeterRegistry registry) {
+        FunctionCounter.builder("users.identity.filter.checks", userIdentityFilter,
+                        UserIdentityFilter::getDefiniteNegativeCount)
+                .tag("result", "negative").register(registry);
+        FunctionCounter.builder("users.identity.filter.checks", userIdentityFilter,
+                        UserIdentityFilter::getPossiblePositiveCount)
+                .tag("result", "possible").register(registry);
+    }
+
+    private void bindPhoneImport(MeterRegistry registry) {
+        FunctionCounter.builder("catalog.import.rows", phoneImportService,
+                        PhoneImportService::getCreatedCount)
+                .tag("result", "created").register(registry);
+        FunctionCounter.builder("catalog.import.rows", phoneImportService,
+                        PhoneImportService::getUpdatedCount)
+                .tag("result", "updated").register(registry);
+        FunctionCounter.builder("catalog.import.rows", phoneImportService,
+                        PhoneImportService::getFailedCount)
+                .tag("result", "failed").register(registry);
+    }
+
+    private void bindOrderPlacement(MeterRegistry registry) {
+        OrderPlacementPipeline pipeline = orderPlacementPipeline;
+        Gauge.builder("orders.placement.queue.depth", pipeline,
+                OrderPlacementPipeline::getValidationQueueDepth)
+                .tag("stage", "validate").register(registry);
+        Gauge.builder("orders.placement.queue.depth", pipeline,
+                OrderPlacementPipeline::getReservationQueueDepth)
+                .tag("stage", "reserve").register(registry);
+        Gauge.builder("orders.placement.queue.depth", pipeline,
+                OrderPlacementPipeline::getPersistQueueDepth)
+                .tag("stage", "persist").register(registry);
+        bindStage(registry, "validate", pipeline.getValidationTimer());
+        bindStage(registry, "reserve", pipeline.getReservationTimer());
+        bindStage(registry, "persist", pipeline.getPersistenceTimer());
+        FunctionCounter.builder("orders.placement.completed", pipeline,
+                        OrderPlacementPipeline::getPlacedCount)
+                .tag("result", "placed").register(registry);
+        FunctionCounter.builder("orders.placement.completed", pipeline,
+                        OrderPlacementPipeline::getRejectedCount)
+                .tag("result", "rejected").register(registry);
+        // fewer settlements than reservations means a partition batched a hot phone
+        FunctionCounter.builder("orders.stock.settlements", stockReservations,
+                StockReservations::getSettledCount).register(registry);
+        FunctionCounter.builder("orders.stock.conflicts", stockReservations,
+                StockReservations::getConflictCount).register(registry);
+        // every failed release is retried, a growing count means the database is failing
+        FunctionCounter.builder("orders.stock.release.failures", stockReservations,
+                StockReservations::getReleaseFailureCount).register(registry);
+    }
+
+    // includes the time an order waited in the stage's queue
+    private static void bindStage(MeterRegistry registry, String stage, StageTimer timer) {
+        FunctionTimer.builder("orders.placement.stage", timer, StageTimer::getCount,
+                        StageTimer::getTotalNanos, TimeUnit.NANOSECONDS)
+                .tag("stage", stage).register(registry);
+    }
+}
@@ -0,0 +1,18 @@
+package at.technikum.springrestbackend.metrics;
+
+import io.micrometer.observation.ObservationRegistry;
+import io.micrometer.observation.aop.ObservedAspect;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+// Turns @Observed on the services into observations, which become spans when the trace is
+// sampled. HTTP requests, the security filter chain and JDBC are instrumented by their
+// libraries, so a trace shows filter, service and query time side by side.
+@Configuration
+public class ObservationConfiguration {
+
+    @Bean
+    public ObservedAspect observedAspect(ObservationRegistry observationRegistry) {
+        return new ObservedAspect(observationRegistry);
+    }
+}
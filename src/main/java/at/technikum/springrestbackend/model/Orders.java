@@ -13,18 +13,22 @@ import java.util.UUID;
 @Getter
 @Setter
 @NoArgsConstructor
+@Table(indexes = {
+    @Index(name = "idx_orders_user_timestamp", columnList = "user_id, timestamp, id")
+})
 public class Orders {
     @Id
     @Setter(AccessLevel.NONE)
     @GeneratedValue(strategy = GenerationType.UUID)
     private UUID id;
 
-    @ManyToOne(cascade = CascadeType.PERSIST, fetch = FetchType.EAGER)
+    @ManyToOne(cascade = CascadeType.PERSIST, fetch = FetchType.LAZY)
     private  User user;
 
-    @ManyToMany(cascade = CascadeType.PERSIST, fetch = FetchType.EAGER)
+    @ManyToMany(cascade = CascadeType.PERSIST, fetch = FetchType.LAZY)
     private List<Phone> phones = new ArrayList<>();
 
+    @Column(nullable = false)
     private Timestamp timestamp;
 
     public Orders(User user){
@@ -32,6 +36,14 @@ public class Orders {
         this.timestamp = new Timestamp(System.currentTimeMillis());
     }
 
+    // orders bound from a request body come without one
+    @PrePersist
+    void stampIfMissing() {
+        if (timestamp == null) {
+            timestamp = new Timestamp(System.currentTimeMillis());
+        }
+    }
+
    public void addPhone(Phone phone){phones.add(phone);}
 
 
@@ -1,10 +1,13 @@
 package at.technikum.springrestbackend.model;
 
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Entity;
 
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
 
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
@@ -13,13 +16,25 @@ import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.util.UUID;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "phone")
 @Getter
 @Setter
 @NoArgsConstructor
+@Table(indexes = {
+    @Index(name = "idx_phone_price", columnList = "price"),
+    @Index(name = "idx_phone_memory", columnList = "memory"),
+    @Index(name = "idx_phone_battery", columnList = "battery"),
+    @Index(name = "idx_phone_display_size", columnList = "displaySize"),
+    @Index(name = "idx_phone_brand_price", columnList = "brand, price"),
+    @Index(name = "idx_phone_name", columnList = "name")
+})
 public class Phone {
     @Id
     @Setter(AccessLevel.NONE)
@@ -40,6 +55,9 @@ public class Phone {
     @NotBlank
     private String brand;
 
+    // file name of the stored image, see MediaStorageService
+    private String picture;
+
     public Phone(String name, String description, float displaySize,
                  int memory, int battery, float price, String brand){
         this.name = name;
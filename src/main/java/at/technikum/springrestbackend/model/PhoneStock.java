@@ -0,0 +1,24 @@
+package at.technikum.springrestbackend.model;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.UUID;
+
+// Units of a phone that can still be ordered. Kept apart from Phone so reservations never
+// invalidate the cached catalog; phones without a row are not stock-tracked.
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class PhoneStock {
+    @Id
+    private UUID phoneId;
+
+    private int quantity;
+}
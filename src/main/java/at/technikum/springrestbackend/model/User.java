@@ -19,8 +19,15 @@ import java.util.UUID;
 @Setter
 @NoArgsConstructor
 @Table(name = "User", uniqueConstraints = {
-       @UniqueConstraint(columnNames = {"username"}),
-        @UniqueConstraint(columnNames = {"email"})
+    @UniqueConstraint(columnNames = {"username"}),
+    @UniqueConstraint(columnNames = {"email"})
+}, indexes = {
+    // the directory pages by username, so every filter column leads an index ending in it
+    @Index(name = "idx_user_role_username", columnList = "role, username"),
+    @Index(name = "idx_user_country_username", columnList = "country, username"),
+    @Index(name = "idx_user_status_username", columnList = "status, username"),
+    @Index(name = "idx_user_lastname_username", columnList = "lastname, username"),
+    @Index(name = "idx_user_firstname_username", columnList = "firstname, username")
 })
 public class User {
     @Id
@@ -0,0 +1,37 @@
+package at.technikum.springrestbackend.property;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties("catalog")
+public class CatalogProperties {
+    private int defaultPageSize = 50;
+
+    private int maxPageSize = 500;
+
+    // keeps an in-memory columnar copy of the catalog for facet queries
+    private boolean indexEnabled = false;
+
+    // lower bounds of the price ranges reported by the facet index
+    private List<Float> priceBuckets = List.of(0f, 200f, 400f, 600f, 800f, 1000f);
+
+    // serialized GET /phones and /phone/{id} responses kept by CatalogResponseCache
+    private long responseCacheMaximumSize = 1_000;
+
+    private boolean responseGzip = true;
+
+    private int responseGzipMinSize = 1_024;
+
+    // rows upserted per transaction by PhoneImportService, matches hibernate.jdbc.batch_size
+    private int importBatchSize = 500;
+
+    // further failed rows of an import are counted but not listed
+    private int importMaxErrors = 1_000;
+}
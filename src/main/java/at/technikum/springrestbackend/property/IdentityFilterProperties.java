@@ -0,0 +1,19 @@
+package at.technikum.springrestbackend.property;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties("users.identity-filter")
+public class IdentityFilterProperties {
+    private boolean enabled = true;
+
+    // the filters are sized for at least this many users, or twice the users found at startup
+    private long expectedInsertions = 100_000;
+
+    private double falsePositiveRate = 0.01;
+}
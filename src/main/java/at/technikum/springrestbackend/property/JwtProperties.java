@@ -11,4 +11,7 @@ import org.springframework.context.annotation.Configuration;
 @ConfigurationProperties("security.jwt")
 public class JwtProperties {
     private String secret;
+
+    // maximum number of verified tokens kept by the JwtDecoder
+    private long cacheMaximumSize = 10_000;
 }
@@ -0,0 +1,18 @@
+package at.technikum.springrestbackend.property;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties("security.login-cache")
+public class LoginCacheProperties {
+    private Duration ttl = Duration.ofSeconds(60);
+
+    private long maximumSize = 10_000;
+}
@@ -0,0 +1,21 @@
+package at.technikum.springrestbackend.property;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties("media")
+public class MediaProperties {
+    private String directory = "../Frontend/src/pics";
+
+    private int thumbnailWidth = 200;
+
+    private int workerThreads = 2;
+
+    // pending thumbnail jobs, further jobs are skipped until the queue drains
+    private int workerQueueCapacity = 100;
+}
@@ -0,0 +1,44 @@
+package at.technikum.springrestbackend.property;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties("orders")
+public class OrderProperties {
+    private int defaultPageSize = 20;
+
+    private int maxPageSize = 200;
+
+    // orders per flush in bulk ingestion, keep in line with hibernate.jdbc.batch_size
+    private int bulkBatchSize = 500;
+
+    private int maxBulkSize = 10_000;
+
+    // OrderPlacementPipeline: threads checking users and prices before stock is reserved
+    private int placementValidationThreads = 4;
+
+    // stock reservation partitions, each phone always goes to the same one
+    private int placementPartitions = 8;
+
+    // capacity of every stage queue, a full queue turns new placements away
+    private int placementQueueCapacity = 10_000;
+
+    // requests a partition or the persist stage takes from its queue at once
+    private int placementDrainSize = 256;
+
+    // threads pushing status changes to subscribers, sends to slow clients block one of them
+    private int placementNotificationThreads = 2;
+
+    private Duration placementStatusRetention = Duration.ofHours(1);
+
+    private long placementStatusMaximumSize = 100_000;
+
+    private Duration placementSubscriptionTimeout = Duration.ofSeconds(30);
+}
@@ -0,0 +1,27 @@
+package at.technikum.springrestbackend.property;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties("security.password-policy")
+public class PasswordPolicyProperties {
+    private int minLength = 8;
+
+    private boolean requireLowercase = true;
+
+    private boolean requireUppercase = true;
+
+    private boolean requireDigit = true;
+
+    // at least one of these characters is required when requireSpecial is set
+    private boolean requireSpecial = true;
+
+    private String specialCharacters = "@#$%^&+=!";
+
+    private boolean allowWhitespace = false;
+}
@@ -0,0 +1,18 @@
+package at.technikum.springrestbackend.property;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties("security.password")
+public class PasswordProperties {
+    // threads hashing and verifying passwords, 0 means one per available core
+    private int poolSize = 0;
+
+    // hashing requests waiting for a thread before new ones are rejected with 503
+    private int queueCapacity = 100;
+}
@@ -0,0 +1,16 @@
+package at.technikum.springrestbackend.property;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties("users.directory")
+public class UserDirectoryProperties {
+    private int defaultPageSize = 50;
+
+    private int maxPageSize = 200;
+}
@@ -1,15 +1,81 @@
 package at.technikum.springrestbackend.repository;
 
+import at.technikum.springrestbackend.dto.OrderLineRow;
 import at.technikum.springrestbackend.model.Orders;
 import at.technikum.springrestbackend.model.User;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
 
+import java.sql.Timestamp;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 public interface OrderRepository extends CrudRepository<Orders, UUID> {
+    // user and phones are lazy, the entity graphs load them in the same select
     @Override
+    @EntityGraph(attributePaths = {"user", "phones"})
     List<Orders> findAll();
 
+    @EntityGraph(attributePaths = {"user", "phones"})
     List<Orders> findByUser(User user);
+
+    @EntityGraph(attributePaths = {"user", "phones"})
+    Optional<Orders> findWithPhonesById(UUID id);
+
+    @EntityGraph(attributePaths = {"user", "phones"})
+    List<Orders> findByIdIn(Collection<UUID> ids);
+
+    // keyset pages of a user's history, newest first; ids only so the LIMIT stays in SQL
+    @Query("SELECT o.id FROM Orders o WHERE o.user.id = :userId "
+            + "ORDER BY o.timestamp DESC, o.id DESC")
+    List<UUID> findHistoryIds(@Param("userId") UUID userId, Pageable pageable);
+
+    // MySQL and H2 sort NULL lowest, so orders stored without a timestamp come last
+    @Query("SELECT o.id FROM Orders o WHERE o.user.id = :userId "
+            + "AND (o.timestamp < :timestamp OR (o.timestamp = :timestamp AND o.id < :lastId) "
+            + "OR o.timestamp IS NULL) "
+            + "ORDER BY o.timestamp DESC, o.id DESC")
+    List<UUID> findHistoryIdsBefore(@Param("userId") UUID userId,
+                                    @Param("timestamp") Timestamp timestamp,
+                                    @Param("lastId") UUID lastId,
+                                    Pageable pageable);
+
+    // continues a page that ended on an order without a timestamp
+    @Query("SELECT o.id FROM Orders o WHERE o.user.id = :userId "
+            + "AND o.timestamp IS NULL AND o.id < :lastId "
+            + "ORDER BY o.id DESC")
+    List<UUID> findUndatedHistoryIdsBefore(@Param("userId") UUID userId,
+                                           @Param("lastId") UUID lastId,
+                                           Pageable pageable);
+
+    // MySQL Connector/J streams rows one by one when the fetch size is Integer.MIN_VALUE
+    @QueryHints({
+        @QueryHint(name = HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE),
+        @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new at.technikum.springrestbackend.dto.OrderLineRow("
+            + "o.id, o.timestamp, u.id, u.username, p.id, p.name, p.brand, p.price) "
+            + "FROM Orders o JOIN o.user u LEFT JOIN o.phones p WHERE u.id = :userId "
+            + "ORDER BY o.timestamp DESC, o.id DESC")
+    Stream<OrderLineRow> streamHistory(@Param("userId") UUID userId);
+
+    @QueryHints({
+        @QueryHint(name = HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE),
+        @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new at.technikum.springrestbackend.dto.OrderLineRow("
+            + "o.id, o.timestamp, u.id, u.username, p.id, p.name, p.brand, p.price) "
+            + "FROM Orders o LEFT JOIN o.user u LEFT JOIN o.phones p ORDER BY o.id")
+    Stream<OrderLineRow> streamAll();
 }
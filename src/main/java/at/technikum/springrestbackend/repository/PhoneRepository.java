@@ -1,36 +1,65 @@
 package at.technikum.springrestbackend.repository;
 
-import at.technikum.springrestbackend.model.Brand;
+import at.technikum.springrestbackend.dto.PhoneRow;
 import at.technikum.springrestbackend.model.Phone;
+import jakarta.persistence.QueryHint;
 import jakarta.transaction.Transactional;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Stream;
 
-public interface PhoneRepository extends CrudRepository<Phone, UUID> {
+import static org.hibernate.jpa.HibernateHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
-    List<Phone> findByName(String name);
+public interface PhoneRepository extends CrudRepository<Phone, UUID>,
+        JpaSpecificationExecutor<Phone> {
 
-    List<Phone> findByDisplaySize(float displaySize);
+    // catalog reads go through the query cache, Phone rows through the "phone" entity region
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
+    List<Phone> findByName(String name);
 
-    List<Phone> findByMemory(int memory);
+    // keyset pagination over the primary key index, no OFFSET scan
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
+    List<Phone> findAllByOrderByIdAsc(Pageable pageable);
 
-    List<Phone> findByBattery(int battery);
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
+    List<Phone> findByIdGreaterThanOrderByIdAsc(UUID lastId, Pageable pageable);
 
-    List<Phone> findByPrice(float price);
+    // no query cache, an import changes the table between every two calls
+    List<Phone> findByNameIn(Collection<String> names);
 
-    List<Phone> findByBrand(Brand brand);
+    @Query("SELECT p.id FROM Phone p WHERE p.id IN :ids")
+    Set<UUID> findExistingIds(@Param("ids") Collection<UUID> ids);
 
     @Transactional
     void deletePhoneById(UUID id);
 
     @Override
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
     List<Phone> findAll();
-    @Modifying
+
+    // MySQL Connector/J streams rows one by one when the fetch size is Integer.MIN_VALUE
+    @QueryHints({
+        @QueryHint(name = HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE),
+        @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new at.technikum.springrestbackend.dto.PhoneRow(p.id, p.name, p.description, "
+            + "p.displaySize, p.memory, p.battery, p.price, p.brand, p.picture) "
+            + "FROM Phone p ORDER BY p.id")
+    Stream<PhoneRow> streamRows();
+    // the bulk update skips the persistence context, PhoneService evicts the cached row
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
     @Query("UPDATE Phone p SET p.name = :newName, p.description = :newDescription, p.displaySize = :newDisplaySize, p.memory = :newMemory, p.battery = :newBattery, p.price = :newPrice, p.picture = :newImage WHERE p.id = :oldId")
     int updatePhoneInfo(@Param("oldId") UUID oldId, @Param("newName") String newName, @Param("newDescription") String newDescription, @Param("newDisplaySize") float newDisplaySize, @Param("newMemory") int newMemory, @Param("newBattery") int newBattery, @Param("newPrice") float newPrice, @Param("newImage") String newImage);
 }
@@ -0,0 +1,52 @@
+package at.technikum.springrestbackend.repository;
+
+import at.technikum.springrestbackend.dto.PhoneSearchRequest;
+import at.technikum.springrestbackend.model.Phone;
+import org.springframework.data.jpa.domain.Specification;
+
+public class PhoneSpecifications {
+
+    private PhoneSpecifications() {
+    }
+
+    // only the criteria that are set end up in the WHERE clause, so the optimizer can pick an index
+    public static Specification<Phone> matching(PhoneSearchRequest request) {
+        return Specification.where(between("price", request.getMinPrice(), request.getMaxPrice()))
+                .and(between("memory", request.getMinMemory(), request.getMaxMemory()))
+                .and(between("battery", request.getMinBattery(), request.getMaxBattery()))
+                .and(between("displaySize",
+                        request.getMinDisplaySize(), request.getMaxDisplaySize()))
+                .and(brandEquals(request.getBrand()))
+                .and(nameStartsWith(request.getNamePrefix()));
+    }
+
+    public static <T extends Comparable<? super T>> Specification<Phone> between(
+            String attribute, T min, T max) {
+        return (root, query, cb) -> {
+            if (min != null && max != null) {
+                return cb.between(root.get(attribute), min, max);
+            } else if (min != null) {
+                return cb.greaterThanOrEqualTo(root.get(attribute), min);
+            } else if (max != null) {
+                return cb.lessThanOrEqualTo(root.get(attribute), max);
+            }
+            return null;
+        };
+    }
+
+    public static Specification<Phone> brandEquals(String brand) {
+        return (root, query, cb) -> brand == null || brand.isBlank()
+                ? null
+                : cb.equal(root.get("brand"), brand);
+    }
+
+    public static Specification<Phone> nameStartsWith(String prefix) {
+        return (root, query, cb) -> prefix == null || prefix.isBlank()
+                ? null
+                : cb.like(root.get("name"), escapeLike(prefix) + "%", '\\');
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
@@ -0,0 +1,26 @@
+package at.technikum.springrestbackend.repository;
+
+import at.technikum.springrestbackend.model.PhoneStock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Optional;
+import java.util.UUID;
+
+public interface PhoneStockRepository extends CrudRepository<PhoneStock, UUID> {
+
+    @Query("SELECT s.quantity FROM PhoneStock s WHERE s.phoneId = :phoneId")
+    Optional<Integer> findQuantity(@Param("phoneId") UUID phoneId);
+
+    // 0 when another writer took the units since they were read
+    @Modifying
+    @Query("UPDATE PhoneStock s SET s.quantity = s.quantity - :units "
+            + "WHERE s.phoneId = :phoneId AND s.quantity >= :units")
+    int reserve(@Param("phoneId") UUID phoneId, @Param("units") int units);
+
+    @Modifying
+    @Query("UPDATE PhoneStock s SET s.quantity = s.quantity + :units WHERE s.phoneId = :phoneId")
+    int release(@Param("phoneId") UUID phoneId, @Param("units") int units);
+}
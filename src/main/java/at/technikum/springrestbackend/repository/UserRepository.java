@@ -1,16 +1,36 @@
 package at.technikum.springrestbackend.repository;
 
+import at.technikum.springrestbackend.dto.UserCredentials;
+import at.technikum.springrestbackend.dto.UserIdentity;
+import at.technikum.springrestbackend.dto.UserSummary;
+import at.technikum.springrestbackend.model.Salutation;
 import at.technikum.springrestbackend.model.User;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 public interface UserRepository extends CrudRepository<User, UUID> {
 
    User findByUsername(String username);
 
-   List<User> findByRole(int role);
+    @Query("SELECT new at.technikum.springrestbackend.dto.UserCredentials("
+            + "u.id, u.username, u.password, u.role) FROM User u WHERE u.username = :username")
+    UserCredentials findCredentialsByUsername(@Param("username") String username);
+
+   List<User> findByRole(String role);
 
    List<User> findByFirstname(String firstname);
 
@@ -24,6 +44,64 @@ public interface UserRepository extends CrudRepository<User, UUID> {
     boolean existsByUsername(String username);
 
     boolean existsByEmail(String email);
+
+    // MySQL Connector/J streams rows one by one when the fetch size is Integer.MIN_VALUE
+    @QueryHints({
+        @QueryHint(name = HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE),
+        @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new at.technikum.springrestbackend.dto.UserIdentity(u.username, u.email) "
+            + "FROM User u")
+    Stream<UserIdentity> streamIdentities();
+
+    @QueryHints({
+        @QueryHint(name = HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE),
+        @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new at.technikum.springrestbackend.dto.UserSummary(u.id, u.username, u.role, "
+            + "u.salutation, u.firstname, u.lastname, u.email, u.country, u.status) FROM User u "
+            + "ORDER BY u.username")
+    Stream<UserSummary> streamSummaries();
+
+    // Connector/J inlines the parameters, so MySQL folds the unused ":x IS NULL" branches
+    // away and can range scan the index of the filter that remains
+    @Query("SELECT new at.technikum.springrestbackend.dto.UserSummary(u.id, u.username, u.role, "
+            + "u.salutation, u.firstname, u.lastname, u.email, u.country, u.status) FROM User u "
+            + "WHERE (:role IS NULL OR u.role = :role) "
+            + "AND (:firstname IS NULL OR u.firstname = :firstname) "
+            + "AND (:lastname IS NULL OR u.lastname = :lastname) "
+            + "AND (:country IS NULL OR u.country = :country) "
+            + "AND (:status IS NULL OR u.status = :status) "
+            + "AND (:after IS NULL OR u.username > :after) "
+            + "ORDER BY u.username")
+    List<UserSummary> findDirectory(@Param("role") String role,
+                                    @Param("firstname") String firstname,
+                                    @Param("lastname") String lastname,
+                                    @Param("country") String country,
+                                    @Param("status") Boolean status,
+                                    @Param("after") String after,
+                                    Pageable pageable);
+
+    @Query("SELECT u.id FROM User u WHERE u.id IN :ids")
+    Set<UUID> findExistingIds(@Param("ids") Collection<UUID> ids);
     @Override
     List<User> findAll();
+
+    @Modifying
+    @Query("UPDATE User u SET u.username = :newUsername, u.password = :newPassword, "
+            + "u.role = :newRole, u.firstname = :newFirstname, u.lastname = :newLastname, "
+            + "u.salutation = :newSalutation, u.email = :newEmail, u.country = :newCountry, "
+            + "u.profilePicture = :newProfilePicture, u.status = :newStatus "
+            + "WHERE u.username = :oldUsername")
+    int updateUserInfo(@Param("oldUsername") String oldUsername,
+                       @Param("newUsername") String newUsername,
+                       @Param("newPassword") String newPassword,
+                       @Param("newRole") String newRole,
+                       @Param("newFirstname") String newFirstname,
+                       @Param("newLastname") String newLastname,
+                       @Param("newSalutation") Salutation newSalutation,
+                       @Param("newEmail") String newEmail,
+                       @Param("newCountry") String newCountry,
+                       @Param("newProfilePicture") String newProfilePicture,
+                       @Param("newStatus") boolean newStatus);
 }
@@ -0,0 +1,12 @@
+package at.technikum.springrestbackend.security;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(value = HttpStatus.SERVICE_UNAVAILABLE,
+        reason = "Too many password operations, try again later")
+public class PasswordHashingRejectedException extends RuntimeException {
+    public PasswordHashingRejectedException(Throwable cause) {
+        super("Password hashing pool is saturated", cause);
+    }
+}
@@ -1,10 +1,13 @@
 package at.technikum.springrestbackend.security;
 
+import at.technikum.springrestbackend.property.PasswordProperties;
 import at.technikum.springrestbackend.security.jwt.JwtAuthenticationFilter;
 import at.technikum.springrestbackend.security.user.CustomUserDetailsService;
+import jakarta.servlet.DispatcherType;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Lazy;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.config.annotation.authentication.builders.AuthenticationManagerBuilder;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
@@ -12,7 +15,6 @@ import org.springframework.security.config.annotation.web.configuration.EnableWe
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.core.userdetails.UserDetailsService;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
@@ -44,7 +46,14 @@ public class SecurityConfiguration {
                 .authorizeHttpRequests(
                         registry -> registry
                                 .requestMatchers("/error").permitAll()
+                                // the request that started an SSE stream was authorized already
+                                .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                                 .requestMatchers("/users/token").permitAll()
+                                .requestMatchers(HttpMethod.POST, "/auth/token").permitAll()
+                                .requestMatchers(HttpMethod.GET, "/media/**").permitAll()
+                                // management.server.port only, it must stay off the published ports
+                                .requestMatchers("/actuator/health", "/actuator/prometheus")
+                                .permitAll()
                                 .anyRequest().authenticated()
                 );
 
@@ -54,17 +63,20 @@ public class SecurityConfiguration {
     }
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public OffloadingPasswordEncoder passwordEncoder(PasswordProperties passwordProperties) {
+        return new OffloadingPasswordEncoder(passwordProperties);
     }
 
     @Bean
-    public AuthenticationManager authenticationManager(HttpSecurity httpSecurity, UserDetailsService userDetailsService) throws Exception {
+    public AuthenticationManager authenticationManager(HttpSecurity httpSecurity,
+                                                       UserDetailsService userDetailsService,
+                                                       PasswordEncoder passwordEncoder)
+            throws Exception {
         AuthenticationManagerBuilder authenticationManagerBuilder = httpSecurity.getSharedObject(AuthenticationManagerBuilder.class);
 
         authenticationManagerBuilder
                 .userDetailsService(userDetailsService)
-                .passwordEncoder(passwordEncoder());
+                .passwordEncoder(passwordEncoder);
 
         return authenticationManagerBuilder.build();
     }
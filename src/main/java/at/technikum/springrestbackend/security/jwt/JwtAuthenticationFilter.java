@@ -1,6 +1,7 @@
 package at.technikum.springrestbackend.security.jwt;
 
 
+import at.technikum.springrestbackend.security.user.UserPrincipal;
 import at.technikum.springrestbackend.security.user.UserPrincipalAuthenticationToken;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -9,11 +10,9 @@ import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.http.HttpHeaders;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
-import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
-import java.util.Optional;
 
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
@@ -31,24 +30,26 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException{
-        extractTokenFromRequest(request)
-                .map(jwtDecoder::decode)
-                .map(jwtToPrincipalConverter::convert)
-                .map(UserPrincipalAuthenticationToken::new)
-                .ifPresent(authentication -> SecurityContextHolder.getContext().setAuthentication(authentication));
+        String token = extractTokenFromRequest(request);
+
+        if(token != null){
+            UserPrincipal principal = jwtToPrincipalConverter.convert(jwtDecoder.decode(token));
+            SecurityContextHolder.getContext()
+                    .setAuthentication(new UserPrincipalAuthenticationToken(principal));
+        }
 
         filterChain.doFilter(request, response);
 
     }
 
-    private Optional<String> extractTokenFromRequest(HttpServletRequest request){
+    private String extractTokenFromRequest(HttpServletRequest request){
         String token = request.getHeader(HttpHeaders.AUTHORIZATION);
 
-        if(StringUtils.hasText(token) && token.startsWith(BEARER_TYPE)){
-            return Optional.of(token.substring(BEARER_TYPE.length()));
+        if(token != null && token.length() > BEARER_TYPE.length() && token.startsWith(BEARER_TYPE)){
+            return token.substring(BEARER_TYPE.length());
         }
 
-        return Optional.empty();
+        return null;
 
     }
 
@@ -2,17 +2,111 @@ package at.technikum.springrestbackend.security.jwt;
 
 import at.technikum.springrestbackend.property.JwtProperties;
 import com.auth0.jwt.JWT;
+import com.auth0.jwt.JWTVerifier;
 import com.auth0.jwt.algorithms.Algorithm;
+import com.auth0.jwt.exceptions.JWTVerificationException;
+import com.auth0.jwt.exceptions.TokenExpiredException;
 import com.auth0.jwt.interfaces.DecodedJWT;
-import lombok.RequiredArgsConstructor;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
 import org.springframework.stereotype.Component;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.concurrent.atomic.LongAdder;
+
 @Component
-@RequiredArgsConstructor
 public class JwtDecoder {
-    private final JwtProperties jwtProperties;
+    private final JWTVerifier verifier;
+
+    // verified tokens keyed by their SHA-256 digest, evicted at the token's exp claim
+    private final Cache<String, DecodedJWT> verifiedTokens;
+
+    private final LongAdder expiredTokens = new LongAdder();
+
+    private final LongAdder invalidTokens = new LongAdder();
+
+    public JwtDecoder(JwtProperties jwtProperties) {
+        this.verifier = JWT.require(Algorithm.HMAC256(jwtProperties.getSecret())).build();
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(jwtProperties.getCacheMaximumSize())
+                .expireAfter(new TokenExpiry())
+                .recordStats()
+                .build();
+    }
+
+    public DecodedJWT decode(String token) {
+        String key = digest(token);
+        DecodedJWT cached = verifiedTokens.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        DecodedJWT jwt = verify(token);
+        verifiedTokens.put(key, jwt);
+        return jwt;
+    }
+
+    public long getExpiredTokenCount() {
+        return expiredTokens.sum();
+    }
+
+    public long getInvalidTokenCount() {
+        return invalidTokens.sum();
+    }
+
+    public CacheStats getCacheStats() {
+        return verifiedTokens.stats();
+    }
+
+    private DecodedJWT verify(String token) {
+        try {
+            return verifier.verify(token);
+        } catch (TokenExpiredException e) {
+            expiredTokens.increment();
+            throw e;
+        } catch (JWTVerificationException e) {
+            invalidTokens.increment();
+            throw e;
+        }
+    }
+
+    private static String digest(String token) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(sha256.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private static class TokenExpiry implements Expiry<String, DecodedJWT> {
+        @Override
+        public long expireAfterCreate(String key, DecodedJWT jwt, long currentTime) {
+            Instant expiresAt = jwt.getExpiresAtAsInstant();
+            if (expiresAt == null) {
+                // tokens without exp are never cached
+                return 0;
+            }
+            return Math.max(0, Duration.between(Instant.now(), expiresAt).toNanos());
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, DecodedJWT jwt,
+                                      long currentTime, long currentDuration) {
+            return currentDuration;
+        }
 
-    public DecodedJWT decode(String token){
-        return JWT.require(Algorithm.HMAC256(jwtProperties.getSecret())).build().verify(token);
+        @Override
+        public long expireAfterRead(String key, DecodedJWT jwt,
+                                    long currentTime, long currentDuration) {
+            return currentDuration;
+        }
     }
 }
@@ -1,7 +1,10 @@
 package at.technikum.springrestbackend.security.jwt;
 
+import at.technikum.springrestbackend.property.JwtProperties;
 import at.technikum.springrestbackend.security.user.UserPrincipal;
 import com.auth0.jwt.interfaces.DecodedJWT;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import org.springframework.stereotype.Component;
 
 
@@ -10,12 +13,28 @@ import java.util.UUID;
 @Component
 public class JwtToPrincipalConverter {
 
+    // principals are immutable, so one instance is shared by all requests of the same user
+    private final Cache<PrincipalKey, UserPrincipal> principals;
+
+    public JwtToPrincipalConverter(JwtProperties jwtProperties) {
+        this.principals = Caffeine.newBuilder()
+                .maximumSize(jwtProperties.getCacheMaximumSize())
+                .build();
+    }
+
     public UserPrincipal convert(DecodedJWT jwt) {
-        return new UserPrincipal(
-                UUID.fromString(jwt.getSubject()),
+        PrincipalKey key = new PrincipalKey(
+                jwt.getSubject(),
                 jwt.getClaim("username").asString(),
-                "",
                 jwt.getClaim("role").asString()
         );
+        return principals.get(key, JwtToPrincipalConverter::createPrincipal);
+    }
+
+    private static UserPrincipal createPrincipal(PrincipalKey key) {
+        return new UserPrincipal(UUID.fromString(key.subject()), key.username(), null, key.role());
+    }
+
+    private record PrincipalKey(String subject, String username, String role) {
     }
 }
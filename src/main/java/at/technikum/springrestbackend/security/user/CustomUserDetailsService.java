@@ -1,9 +1,7 @@
 package at.technikum.springrestbackend.security.user;
 
-import at.technikum.springrestbackend.model.User;
-import at.technikum.springrestbackend.repository.UserRepository;
+import at.technikum.springrestbackend.dto.UserCredentials;
 
-import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 
 import org.springframework.security.core.userdetails.UserDetails;
@@ -14,16 +12,16 @@ import org.springframework.stereotype.Service;
 @Service
 @RequiredArgsConstructor
 public class CustomUserDetailsService implements UserDetailsService {
-    private final UserRepository userRepository;
+    private final UserCredentialsCache userCredentialsCache;
 
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        try{
-            User user = userRepository.findByUsername(username);
-
-            return new UserPrincipal(user.getId(), user.getUsername(), user.getPassword(), user.getRole());
-        }catch (EntityNotFoundException e){
+        UserCredentials user = userCredentialsCache.get(username);
+        if (user == null) {
             throw new UsernameNotFoundException(username);
         }
+
+        return new UserPrincipal(user.getId(), user.getUsername(), user.getPassword(),
+                user.getRole());
     }
 }
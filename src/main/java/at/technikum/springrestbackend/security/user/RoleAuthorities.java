@@ -0,0 +1,25 @@
+package at.technikum.springrestbackend.security.user;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+public final class RoleAuthorities {
+
+    // there are only a handful of roles, so each one maps to a single shared authority list
+    private static final Map<String, List<GrantedAuthority>> AUTHORITIES =
+            new ConcurrentHashMap<>();
+
+    private RoleAuthorities() {
+    }
+
+    public static List<GrantedAuthority> of(String role) {
+        if (role == null) {
+            return List.of();
+        }
+        return AUTHORITIES.computeIfAbsent(role, r -> List.of(new SimpleGrantedAuthority(r)));
+    }
+}
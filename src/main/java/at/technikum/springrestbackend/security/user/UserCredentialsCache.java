@@ -0,0 +1,71 @@
+package at.technikum.springrestbackend.security.user;
+
+import at.technikum.springrestbackend.dto.UserCredentials;
+import at.technikum.springrestbackend.property.LoginCacheProperties;
+import at.technikum.springrestbackend.repository.UserRepository;
+import at.technikum.springrestbackend.util.CollationKey;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+// Short lived cache of login credentials. UserService invalidates entries when a user
+// is created, updated or deleted, the ttl only bounds staleness for anything missed.
+// Entries are keyed by the exact username, a collation can keep apart what CollationKey
+// folds together. Invalidating drops every spelling MySQL could match, "Alice" and "alice".
+@Component
+public class UserCredentialsCache {
+
+    private final UserRepository userRepository;
+
+    private final Cache<String, UserCredentials> credentials;
+
+    // bumped before every invalidation drops its entries, a load that overlaps one is dropped
+    // again by the load itself, so an old password hash never outlives a committed change
+    private final AtomicLong generation = new AtomicLong();
+
+    public UserCredentialsCache(UserRepository userRepository,
+                                LoginCacheProperties loginCacheProperties) {
+        this.userRepository = userRepository;
+        this.credentials = Caffeine.newBuilder()
+                .expireAfterWrite(loginCacheProperties.getTtl())
+                .maximumSize(loginCacheProperties.getMaximumSize())
+                .recordStats()
+                .build();
+    }
+
+    // unknown usernames are not cached, so a new registration can log in right away.
+    // The query runs outside Caffeine's compute, which holds a monitor while loading and
+    // would pin a virtual thread to its carrier for the whole database round trip.
+    public UserCredentials get(String username) {
+        UserCredentials cached = credentials.getIfPresent(username);
+        if (cached != null) {
+            return cached;
+        }
+        long seen = generation.get();
+        UserCredentials loaded = userRepository.findCredentialsByUsername(username);
+        if (loaded != null) {
+            credentials.put(username, loaded);
+            // the row may predate a write whose invalidation ran before the put
+            if (generation.get() != seen) {
+                credentials.asMap().remove(username, loaded);
+            }
+        }
+        return loaded;
+    }
+
+    // a scan over the cached usernames, user writes are rare next to logins
+    public void invalidate(String username) {
+        if (username != null) {
+            generation.incrementAndGet();
+            String key = CollationKey.of(username);
+            credentials.asMap().keySet().removeIf(cached -> CollationKey.of(cached).equals(key));
+        }
+    }
+
+    public CacheStats getCacheStats() {
+        return credentials.stats();
+    }
+}
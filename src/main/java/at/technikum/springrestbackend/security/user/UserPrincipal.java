@@ -1,20 +1,55 @@
 package at.technikum.springrestbackend.security.user;
 
+import lombok.EqualsAndHashCode;
 import lombok.Getter;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
-import org.springframework.security.core.userdetails.User;
-import java.util.List;
+import org.springframework.security.core.CredentialsContainer;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
 import java.util.UUID;
 
 @Getter
-public class UserPrincipal extends User {
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+public class UserPrincipal implements UserDetails, CredentialsContainer {
 
-    private UUID id;
-    private String role;
+    private final UUID id;
+    @EqualsAndHashCode.Include
+    private final String username;
+    private String password;
+    private final String role;
+    private final Collection<GrantedAuthority> authorities;
 
     public UserPrincipal(UUID id, String username, String password, String role) {
-        super(username, password, List.of(new SimpleGrantedAuthority(role)));
         this.id = id;
+        this.username = username;
+        this.password = password;
         this.role = role;
+        this.authorities = RoleAuthorities.of(role);
+    }
+
+    @Override
+    public boolean isAccountNonExpired() {
+        return true;
+    }
+
+    @Override
+    public boolean isAccountNonLocked() {
+        return true;
+    }
+
+    @Override
+    public boolean isCredentialsNonExpired() {
+        return true;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return true;
+    }
+
+    @Override
+    public void eraseCredentials() {
+        this.password = null;
     }
 }
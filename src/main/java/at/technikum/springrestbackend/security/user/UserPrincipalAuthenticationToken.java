@@ -1,21 +1,52 @@
 package at.technikum.springrestbackend.security.user;
 
-import org.springframework.security.authentication.AbstractAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
 
-public class UserPrincipalAuthenticationToken extends AbstractAuthenticationToken {
+import java.util.Collection;
+
+public class UserPrincipalAuthenticationToken implements Authentication {
 
     private final UserPrincipal userPrincipal;
 
     public UserPrincipalAuthenticationToken(UserPrincipal userPrincipal){
-        super(userPrincipal.getAuthorities());
         this.userPrincipal = userPrincipal;
-        setAuthenticated(true);
+    }
 
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities(){
+        return userPrincipal.getAuthorities();
     }
 
     @Override
-    public Object getCredentials(){return null;}
+    public Object getCredentials(){
+        return null;
+    }
 
     @Override
-    public Object getPrincipal(){return userPrincipal;}
+    public Object getDetails(){
+        return null;
+    }
+
+    @Override
+    public Object getPrincipal(){
+        return userPrincipal;
+    }
+
+    @Override
+    public boolean isAuthenticated(){
+        return true;
+    }
+
+    @Override
+    public void setAuthenticated(boolean isAuthenticated){
+        if (!isAuthenticated) {
+            throw new IllegalArgumentException("A verified JWT authentication cannot be revoked");
+        }
+    }
+
+    @Override
+    public String getName(){
+        return userPrincipal.getUsername();
+    }
 }
@@ -5,6 +5,7 @@ import at.technikum.springrestbackend.dto.TokenRequest;
 import at.technikum.springrestbackend.dto.TokenResponse;
 import at.technikum.springrestbackend.security.TokenIssuer;
 import at.technikum.springrestbackend.security.user.UserPrincipal;
+import io.micrometer.observation.annotation.Observed;
 import lombok.AllArgsConstructor;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -13,6 +14,7 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 
 @Service
+@Observed(name = "service.auth")
 @AllArgsConstructor
 public class AuthService {
     private final TokenIssuer tokenIssuer;
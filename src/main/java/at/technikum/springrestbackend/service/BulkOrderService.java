@@ -0,0 +1,139 @@
+package at.technikum.springrestbackend.service;
+
+import at.technikum.springrestbackend.dto.OrderIngestRequest;
+import at.technikum.springrestbackend.dto.OrderIngestResult;
+import at.technikum.springrestbackend.model.Orders;
+import at.technikum.springrestbackend.model.Phone;
+import at.technikum.springrestbackend.model.User;
+import at.technikum.springrestbackend.property.OrderProperties;
+import at.technikum.springrestbackend.repository.PhoneRepository;
+import at.technikum.springrestbackend.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.PersistenceException;
+import io.micrometer.observation.annotation.Observed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+
+@Service
+@Observed(name = "service.bulk-order")
+@RequiredArgsConstructor
+public class BulkOrderService {
+
+    private final UserRepository userRepository;
+
+    private final PhoneRepository phoneRepository;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final OrderProperties orderProperties;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public List<OrderIngestResult> ingest(List<OrderIngestRequest> requests) {
+        if (requests.size() > orderProperties.getMaxBulkSize()) {
+            throw new IllegalArgumentException(
+                    "A batch may contain at most " + orderProperties.getMaxBulkSize() + " orders");
+        }
+        OrderIngestResult[] results = new OrderIngestResult[requests.size()];
+        List<Integer> accepted = validate(requests, results);
+
+        int batchSize = orderProperties.getBulkBatchSize();
+        for (int from = 0; from < accepted.size(); from += batchSize) {
+            int to = Math.min(from + batchSize, accepted.size());
+            List<Integer> chunk = accepted.subList(from, to);
+            try {
+                persistChunk(requests, chunk, results);
+            } catch (DataAccessException | PersistenceException e) {
+                for (int index : chunk) {
+                    results[index] = OrderIngestResult.failed(index, "Could not store the order");
+                }
+            }
+        }
+        return Arrays.asList(results);
+    }
+
+    // users and phones of the whole batch are checked with one query each
+    private List<Integer> validate(List<OrderIngestRequest> requests,
+                                   OrderIngestResult[] results) {
+        Set<UUID> userIds = new HashSet<>();
+        Set<UUID> phoneIds = new HashSet<>();
+        for (OrderIngestRequest request : requests) {
+            if (request == null) {
+                continue;
+            }
+            if (request.getUserId() != null) {
+                userIds.add(request.getUserId());
+            }
+            if (request.getPhoneIds() != null) {
+                request.getPhoneIds().stream().filter(Objects::nonNull).forEach(phoneIds::add);
+            }
+        }
+        Set<UUID> existingUsers = userIds.isEmpty()
+                ? Set.of() : userRepository.findExistingIds(userIds);
+        Set<UUID> existingPhones = phoneIds.isEmpty()
+                ? Set.of() : phoneRepository.findExistingIds(phoneIds);
+
+        List<Integer> accepted = new ArrayList<>();
+        for (int i = 0; i < requests.size(); i++) {
+            String error = validate(requests.get(i), existingUsers, existingPhones);
+            if (error == null) {
+                accepted.add(i);
+            } else {
+                results[i] = OrderIngestResult.failed(i, error);
+            }
+        }
+        return accepted;
+    }
+
+    private String validate(OrderIngestRequest request, Set<UUID> existingUsers,
+                            Set<UUID> existingPhones) {
+        if (request == null) {
+            return "The order is missing";
+        } else if (request.getUserId() == null) {
+            return "userId is required";
+        } else if (request.getPhoneIds() == null || request.getPhoneIds().isEmpty()
+                || request.getPhoneIds().stream().anyMatch(Objects::isNull)) {
+            return "An order needs at least one phone";
+        } else if (!existingUsers.contains(request.getUserId())) {
+            return "No User with that id";
+        } else if (!existingPhones.containsAll(request.getPhoneIds())) {
+            return "Unknown phone id";
+        }
+        return null;
+    }
+
+    // ids are generated client side, so the inserts of one chunk go out as JDBC batches
+    private void persistChunk(List<OrderIngestRequest> requests, List<Integer> chunk,
+                              OrderIngestResult[] results) {
+        UUID[] ids = new UUID[chunk.size()];
+        transactionTemplate.executeWithoutResult(status -> {
+            for (int i = 0; i < chunk.size(); i++) {
+                OrderIngestRequest request = requests.get(chunk.get(i));
+                User user = entityManager.getReference(User.class, request.getUserId());
+                Orders order = new Orders(user);
+                for (UUID phoneId : request.getPhoneIds()) {
+                    order.addPhone(entityManager.getReference(Phone.class, phoneId));
+                }
+                entityManager.persist(order);
+                ids[i] = order.getId();
+            }
+            entityManager.flush();
+            entityManager.clear();
+        });
+        for (int i = 0; i < chunk.size(); i++) {
+            results[chunk.get(i)] = OrderIngestResult.created(chunk.get(i), ids[i]);
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package at.technikum.springrestbackend.service;
+
+import at.technikum.springrestbackend.dto.CacheStatistics;
+import at.technikum.springrestbackend.security.jwt.JwtDecoder;
+import at.technikum.springrestbackend.security.user.UserCredentialsCache;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.AllArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+@Service
+@AllArgsConstructor
+public class CacheStatisticsService {
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    private final JwtDecoder jwtDecoder;
+
+    private final UserCredentialsCache userCredentialsCache;
+
+    private final CatalogResponseCache catalogResponseCache;
+
+    public List<CacheStatistics> getCacheStatistics() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        CacheRegionStatistics phones = statistics.getDomainDataRegionStatistics("phone");
+        return List.of(
+                new CacheStatistics("phone", phones.getHitCount(), phones.getMissCount()),
+                new CacheStatistics("phone-queries",
+                        statistics.getQueryCacheHitCount(), statistics.getQueryCacheMissCount()),
+                fromCaffeine("jwt", jwtDecoder.getCacheStats()),
+                fromCaffeine("login", userCredentialsCache.getCacheStats()),
+                fromCaffeine("catalog-responses", catalogResponseCache.getCacheStats())
+        );
+    }
+
+    private static CacheStatistics fromCaffeine(String name, CacheStats stats) {
+        return new CacheStatistics(name, stats.hitCount(), stats.missCount());
+    }
+}
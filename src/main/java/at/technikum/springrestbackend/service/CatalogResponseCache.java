@@ -0,0 +1,158 @@
+package at.technikum.springrestbackend.service;
+
+import at.technikum.springrestbackend.property.CatalogProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+// Keeps catalog responses as ready-to-send JSON (and gzip) bytes. Every phone write bumps
+// one catalog version that retires the cached entries. The ETag is the MD5 of the JSON, so
+// it survives restarts and is the same on every instance; a cached entry answers a matching
+// If-None-Match with 304 without touching the repository.
+@Component
+public class CatalogResponseCache {
+
+    private final ObjectMapper objectMapper;
+
+    private final boolean gzipEnabled;
+
+    private final int gzipMinSize;
+
+    private final AtomicLong version = new AtomicLong();
+
+    private final Cache<String, CachedResponse> responses;
+
+    public CatalogResponseCache(ObjectMapper objectMapper, CatalogProperties catalogProperties) {
+        this.objectMapper = objectMapper;
+        this.gzipEnabled = catalogProperties.isResponseGzip();
+        this.gzipMinSize = catalogProperties.getResponseGzipMinSize();
+        this.responses = Caffeine.newBuilder()
+                .maximumSize(catalogProperties.getResponseCacheMaximumSize())
+                .recordStats()
+                .build();
+    }
+
+    public void invalidate() {
+        version.incrementAndGet();
+        responses.invalidateAll();
+    }
+
+    public CacheStats getCacheStats() {
+        return responses.stats();
+    }
+
+    public void write(String key, Supplier<Object> body, HttpServletRequest request,
+                      HttpServletResponse response) throws IOException {
+        long currentVersion = version.get();
+        CachedResponse cached = responses.getIfPresent(key);
+        if (cached == null || cached.version() != currentVersion) {
+            // the version is read before the data, a concurrent write makes this entry stale
+            cached = serialize(currentVersion, body.get());
+            responses.put(key, cached);
+        }
+        // the gzip body is another representation, so it gets its own strong ETag
+        boolean useGzip = cached.gzip() != null
+                && acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+        response.setHeader(HttpHeaders.ETAG, useGzip ? gzipTag(cached.etag()) : cached.etag());
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "no-cache");
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (matches(request.getHeader(HttpHeaders.IF_NONE_MATCH), cached.etag())) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+        send(cached, useGzip, response);
+    }
+
+    private CachedResponse serialize(long currentVersion, Object body) throws IOException {
+        byte[] json = objectMapper.writeValueAsBytes(body);
+        byte[] gzip = null;
+        if (gzipEnabled && json.length >= gzipMinSize) {
+            ByteArrayOutputStream compressed = new ByteArrayOutputStream(json.length / 4);
+            try (GZIPOutputStream out = new GZIPOutputStream(compressed)) {
+                out.write(json);
+            }
+            gzip = compressed.toByteArray();
+        }
+        String etag = "\"" + DigestUtils.md5DigestAsHex(json) + "\"";
+        return new CachedResponse(currentVersion, etag, json, gzip);
+    }
+
+    private static String gzipTag(String etag) {
+        return etag.substring(0, etag.length() - 1) + "-gzip\"";
+    }
+
+    // If-None-Match is a list compared weakly, either representation's tag or * matches
+    private static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String value = candidate.trim();
+            value = value.startsWith("W/") ? value.substring(2) : value;
+            if (value.equals("*") || value.equals(etag) || value.equals(gzipTag(etag))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // gzip;q=0 refuses gzip even when * is accepted, no header means identity only
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        boolean wildcard = false;
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parameters = coding.split(";");
+            String name = parameters[0].trim().toLowerCase(Locale.ROOT);
+            if (name.equals("gzip") || name.equals("x-gzip")) {
+                return quality(parameters) > 0;
+            } else if (name.equals("*")) {
+                wildcard = quality(parameters) > 0;
+            }
+        }
+        return wildcard;
+    }
+
+    private static double quality(String[] parameters) {
+        for (int i = 1; i < parameters.length; i++) {
+            String parameter = parameters[i].trim();
+            if (parameter.startsWith("q=")) {
+                try {
+                    return Double.parseDouble(parameter.substring(2).trim());
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 1;
+    }
+
+    private static void send(CachedResponse cached, boolean useGzip,
+                             HttpServletResponse response) throws IOException {
+        byte[] bytes = useGzip ? cached.gzip() : cached.json();
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        if (useGzip) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        response.setContentLength(bytes.length);
+        response.getOutputStream().write(bytes);
+    }
+
+    private record CachedResponse(long version, String etag, byte[] json, byte[] gzip) {
+    }
+}
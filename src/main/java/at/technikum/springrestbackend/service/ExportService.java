@@ -0,0 +1,170 @@
+package at.technikum.springrestbackend.service;
+
+import at.technikum.springrestbackend.dto.OrderLineRow;
+import at.technikum.springrestbackend.dto.OrderSummary;
+import at.technikum.springrestbackend.dto.PhoneRow;
+import at.technikum.springrestbackend.dto.UserSummary;
+import at.technikum.springrestbackend.repository.OrderRepository;
+import at.technikum.springrestbackend.repository.PhoneRepository;
+import at.technikum.springrestbackend.repository.UserRepository;
+import at.technikum.springrestbackend.util.ExportFormat;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import io.micrometer.observation.annotation.Observed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+// Back-office exports. Rows come from streaming projections and are written one by one,
+// so memory use does not depend on the size of the table.
+@Service
+@Observed(name = "service.export")
+@RequiredArgsConstructor
+public class ExportService {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private static final List<Column<UserSummary>> USER_COLUMNS = List.of(
+            new Column<>("id", UserSummary::getId),
+            new Column<>("username", UserSummary::getUsername),
+            new Column<>("role", UserSummary::getRole),
+            new Column<>("salutation", UserSummary::getSalutation),
+            new Column<>("firstname", UserSummary::getFirstname),
+            new Column<>("lastname", UserSummary::getLastname),
+            new Column<>("email", UserSummary::getEmail),
+            new Column<>("country", UserSummary::getCountry),
+            new Column<>("status", UserSummary::isStatus));
+
+    private static final List<Column<PhoneRow>> PHONE_COLUMNS = List.of(
+            new Column<>("id", PhoneRow::getId),
+            new Column<>("name", PhoneRow::getName),
+            new Column<>("description", PhoneRow::getDescription),
+            new Column<>("displaySize", PhoneRow::getDisplaySize),
+            new Column<>("memory", PhoneRow::getMemory),
+            new Column<>("battery", PhoneRow::getBattery),
+            new Column<>("price", PhoneRow::getPrice),
+            new Column<>("brand", PhoneRow::getBrand),
+            new Column<>("picture", PhoneRow::getPicture));
+
+    // CSV has one line per ordered phone, NDJSON one object per order
+    private static final List<Column<OrderLineRow>> ORDER_COLUMNS = List.of(
+            new Column<>("orderId", OrderLineRow::getOrderId),
+            new Column<>("timestamp", OrderLineRow::getTimestamp),
+            new Column<>("userId", OrderLineRow::getUserId),
+            new Column<>("username", OrderLineRow::getUsername),
+            new Column<>("phoneId", OrderLineRow::getPhoneId),
+            new Column<>("phoneName", OrderLineRow::getPhoneName),
+            new Column<>("brand", OrderLineRow::getBrand),
+            new Column<>("price", OrderLineRow::getPrice));
+
+    private final UserRepository userRepository;
+
+    private final PhoneRepository phoneRepository;
+
+    private final OrderRepository orderRepository;
+
+    private final ObjectMapper objectMapper;
+
+    @Transactional(readOnly = true)
+    public void exportUsers(ExportFormat format, OutputStream out) throws IOException {
+        try (Stream<UserSummary> rows = userRepository.streamSummaries()) {
+            write(rows.iterator(), USER_COLUMNS, format, out);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public void exportPhones(ExportFormat format, OutputStream out) throws IOException {
+        try (Stream<PhoneRow> rows = phoneRepository.streamRows()) {
+            write(rows.iterator(), PHONE_COLUMNS, format, out);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public void exportOrders(ExportFormat format, OutputStream out) throws IOException {
+        try (Stream<OrderLineRow> rows = orderRepository.streamAll()) {
+            if (format == ExportFormat.CSV) {
+                writeCsv(rows.iterator(), ORDER_COLUMNS, out);
+            } else {
+                writeNdjson(OrderSummary.group(rows.iterator()), out);
+            }
+        }
+    }
+
+    private <T> void write(Iterator<T> rows, List<Column<T>> columns, ExportFormat format,
+                           OutputStream out) throws IOException {
+        if (format == ExportFormat.CSV) {
+            writeCsv(rows, columns, out);
+        } else {
+            writeNdjson(rows, out);
+        }
+    }
+
+    // the stream is only flushed, closing it is up to the caller
+    private void writeNdjson(Iterator<?> rows, OutputStream out) throws IOException {
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(out)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        try (SequenceWriter writer = objectMapper.writer()
+                .withRootValueSeparator("\n").writeValues(generator)) {
+            while (rows.hasNext()) {
+                writer.write(rows.next());
+            }
+        }
+        generator.writeRaw('\n');
+        generator.flush();
+    }
+
+    private <T> void writeCsv(Iterator<T> rows, List<Column<T>> columns, OutputStream out)
+            throws IOException {
+        Writer writer = new BufferedWriter(
+                new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+        for (int i = 0; i < columns.size(); i++) {
+            writeCell(writer, i, columns.get(i).header());
+        }
+        writer.write("\r\n");
+        while (rows.hasNext()) {
+            T row = rows.next();
+            for (int i = 0; i < columns.size(); i++) {
+                writeCell(writer, i, columns.get(i).value().apply(row));
+            }
+            writer.write("\r\n");
+        }
+        writer.flush();
+    }
+
+    private static void writeCell(Writer writer, int index, Object value) throws IOException {
+        if (index > 0) {
+            writer.write(',');
+        }
+        if (value == null) {
+            return;
+        }
+        String text = value.toString();
+        // text starting like a formula is quoted, so spreadsheets do not evaluate it
+        boolean formula = value instanceof String && !text.isEmpty()
+                && "=+-@".indexOf(text.charAt(0)) >= 0;
+        if (formula || text.indexOf(',') >= 0 || text.indexOf('"') >= 0
+                || text.indexOf('\n') >= 0 || text.indexOf('\r') >= 0) {
+            writer.write('"');
+            writer.write(formula ? "'" : "");
+            writer.write(text.replace("\"", "\"\""));
+            writer.write('"');
+        } else {
+            writer.write(text);
+        }
+    }
+
+    private record Column<T>(String header, Function<T, Object> value) {
+    }
+}
@@ -0,0 +1,191 @@
+package at.technikum.springrestbackend.service;
+
+import at.technikum.springrestbackend.property.MediaProperties;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import javax.imageio.ImageIO;
+import java.awt.Graphics2D;
+import java.awt.Image;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Stores uploaded images under the SHA-256 of their content, so duplicates share one file.
+// The body is streamed to disk in one pass and resizing runs on a small background pool.
+@Service
+public class MediaStorageService {
+    private static final Logger LOGGER = LoggerFactory.getLogger(MediaStorageService.class);
+
+    private static final Set<String> EXTENSIONS = Set.of("png", "jpg", "jpeg", "gif", "webp");
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private static final String TEMP_PREFIX = "upload-";
+
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    // uploads still being written to a temp file are not served
+    private static final Pattern SAFE_NAME = Pattern.compile("(?!" + Pattern.quote(TEMP_PREFIX)
+            + ".*" + Pattern.quote(TEMP_SUFFIX) + "$)[A-Za-z0-9][A-Za-z0-9._-]*");
+
+    private static final Pattern CONTENT_ADDRESSED = Pattern.compile("([0-9a-f]{64})\\.[a-z]+");
+
+    private final Path directory;
+
+    private final Path thumbnailDirectory;
+
+    private final int thumbnailWidth;
+
+    private final ThreadPoolExecutor workers;
+
+    public MediaStorageService(MediaProperties mediaProperties) throws IOException {
+        this.directory = Paths.get(mediaProperties.getDirectory()).toAbsolutePath().normalize();
+        this.thumbnailDirectory = directory.resolve("thumbnails");
+        this.thumbnailWidth = mediaProperties.getThumbnailWidth();
+        Files.createDirectories(thumbnailDirectory);
+        this.workers = new ThreadPoolExecutor(mediaProperties.getWorkerThreads(),
+                mediaProperties.getWorkerThreads(), 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(mediaProperties.getWorkerQueueCapacity()),
+                new CustomizableThreadFactory("media-worker-"));
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    public Path getThumbnailDirectory() {
+        return thumbnailDirectory;
+    }
+
+    // null if the name is not a stored file, names can never point outside the media directory
+    public Path resolve(String fileName, boolean thumbnail) {
+        if (fileName == null || !SAFE_NAME.matcher(fileName).matches()) {
+            return null;
+        }
+        Path file = (thumbnail ? thumbnailDirectory : directory).resolve(fileName);
+        return Files.isRegularFile(file) ? file : null;
+    }
+
+    // the content hash for content addressed files, size and modification time for older uploads
+    public String etagOf(Path file) throws IOException {
+        Matcher matcher = CONTENT_ADDRESSED.matcher(file.getFileName().toString());
+        if (matcher.matches()) {
+            return "\"" + matcher.group(1) + "\"";
+        }
+        return "W/\"" + Files.size(file) + "-" + Files.getLastModifiedTime(file).toMillis() + "\"";
+    }
+
+    public boolean isContentAddressed(Path file) {
+        return CONTENT_ADDRESSED.matcher(file.getFileName().toString()).matches();
+    }
+
+    // returns the stored file name, <sha256>.<extension>
+    public String store(MultipartFile file) throws IOException {
+        String extension = extensionOf(file.getOriginalFilename());
+        Path temp = Files.createTempFile(directory, TEMP_PREFIX, TEMP_SUFFIX);
+        try {
+            String hash = copyAndHash(file.getInputStream(), temp);
+            String fileName = hash + "." + extension;
+            Path target = directory.resolve(fileName);
+            // same content was uploaded before, keep the existing file
+            if (!Files.exists(target)) {
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+                scheduleThumbnail(target, hash);
+            }
+            return fileName;
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdown();
+    }
+
+    private String copyAndHash(InputStream in, Path target) throws IOException {
+        MessageDigest digest = sha256();
+        ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+        try (ReadableByteChannel source = Channels.newChannel(in);
+             FileChannel sink = FileChannel.open(target, StandardOpenOption.WRITE)) {
+            while (source.read(buffer) != -1) {
+                buffer.flip();
+                digest.update(buffer.duplicate());
+                while (buffer.hasRemaining()) {
+                    sink.write(buffer);
+                }
+                buffer.clear();
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private void scheduleThumbnail(Path image, String hash) {
+        try {
+            workers.execute(() -> writeThumbnail(image, thumbnailDirectory.resolve(hash + ".jpg")));
+        } catch (RejectedExecutionException e) {
+            LOGGER.warn("Thumbnail queue is full, skipping thumbnail for {}", image);
+        }
+    }
+
+    private void writeThumbnail(Path image, Path target) {
+        try {
+            BufferedImage source = ImageIO.read(image.toFile());
+            if (source == null || Files.exists(target)) {
+                return;
+            }
+            int width = Math.min(thumbnailWidth, source.getWidth());
+            int height = Math.max(1, source.getHeight() * width / source.getWidth());
+            BufferedImage thumbnail = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+            Graphics2D graphics = thumbnail.createGraphics();
+            graphics.drawImage(source.getScaledInstance(width, height, Image.SCALE_SMOOTH),
+                    0, 0, null);
+            graphics.dispose();
+            ImageIO.write(thumbnail, "jpg", target.toFile());
+        } catch (IOException e) {
+            LOGGER.warn("Could not create thumbnail for {}", image, e);
+        }
+    }
+
+    private static String extensionOf(String originalFilename) {
+        String name = originalFilename == null ? "" : originalFilename;
+        String extension = name.substring(name.lastIndexOf('.') + 1).toLowerCase(Locale.ROOT);
+        if (!EXTENSIONS.contains(extension)) {
+            throw new IllegalArgumentException("Only png, jpg, gif and webp images are allowed");
+        }
+        return extension;
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,490 @@
+package at.technikum.springrestbackend.service;
+
+import at.technikum.springrestbackend.dto.OrderPlacementRequest;
+import at.technikum.springrestbackend.dto.OrderPlacementStatus;
+import at.technikum.springrestbackend.dto.OrderPlacementStatus.State;
+import at.technikum.springrestbackend.model.Orders;
+import at.technikum.springrestbackend.model.Phone;
+import at.technikum.springrestbackend.model.User;
+import at.technikum.springrestbackend.property.OrderProperties;
+import at.technikum.springrestbackend.repository.PhoneRepository;
+import at.technikum.springrestbackend.repository.UserRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.observation.annotation.Observed;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+// Places orders in three in-process stages: validate (user, phones, prices) on a small pool,
+// reserve stock in the phone's StockReservations partition, persist in batches on a single
+// writer thread. place() only queues the order and returns its placement id; the status is
+// kept for polling and pushed to subscribers from a pool of their own, so a slow subscriber
+// never holds up a stage. Reserved units of orders still in flight when the process dies are
+// not returned. Only place() is observed, the getters are read by every metrics scrape.
+@Service
+public class OrderPlacementPipeline {
+
+    private static final double PRICE_TOLERANCE = 0.005;
+
+    private final UserRepository userRepository;
+
+    private final PhoneRepository phoneRepository;
+
+    private final StockReservations stockReservations;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final OrderProperties orderProperties;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final Cache<UUID, Placement> placements;
+
+    private final ThreadPoolExecutor validators;
+
+    private final ExecutorService notifiers;
+
+    private final BlockingQueue<Placement> persistQueue;
+
+    private final Thread writer;
+
+    private final StageTimer validation = new StageTimer();
+
+    private final StageTimer reservation = new StageTimer();
+
+    private final StageTimer persistence = new StageTimer();
+
+    private final LongAdder placed = new LongAdder();
+
+    private final LongAdder rejected = new LongAdder();
+
+    public OrderPlacementPipeline(UserRepository userRepository, PhoneRepository phoneRepository,
+                                  StockReservations stockReservations,
+                                  TransactionTemplate transactionTemplate,
+                                  OrderProperties orderProperties) {
+        this.userRepository = userRepository;
+        this.phoneRepository = phoneRepository;
+        this.stockReservations = stockReservations;
+        this.transactionTemplate = transactionTemplate;
+        this.orderProperties = orderProperties;
+        this.placements = Caffeine.newBuilder()
+                .maximumSize(orderProperties.getPlacementStatusMaximumSize())
+                .expireAfterWrite(orderProperties.getPlacementStatusRetention())
+                .build();
+        int threads = orderProperties.getPlacementValidationThreads();
+        AtomicInteger count = new AtomicInteger();
+        this.validators = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(orderProperties.getPlacementQueueCapacity()),
+                runnable -> daemon(runnable, "order-validation-" + count.incrementAndGet()),
+                new ThreadPoolExecutor.AbortPolicy());
+        AtomicInteger notifierCount = new AtomicInteger();
+        this.notifiers = Executors.newFixedThreadPool(
+                orderProperties.getPlacementNotificationThreads(),
+                runnable -> daemon(runnable, "order-status-" + notifierCount.incrementAndGet()));
+        this.persistQueue = new ArrayBlockingQueue<>(orderProperties.getPlacementQueueCapacity());
+        this.writer = daemon(this::persistLoop, "order-persist");
+        this.writer.start();
+    }
+
+    @Observed(name = "service.order-placement")
+    public OrderPlacementStatus place(OrderPlacementRequest request) {
+        if (request.getUserId() == null) {
+            throw new IllegalArgumentException("userId is required");
+        } else if (request.getPhoneIds() == null || request.getPhoneIds().isEmpty()
+                || request.getPhoneIds().stream().anyMatch(Objects::isNull)) {
+            throw new IllegalArgumentException("An order needs at least one phone");
+        }
+        Placement placement = new Placement(UUID.randomUUID(), request, notifiers);
+        placements.put(placement.id, placement);
+        long queued = System.nanoTime();
+        try {
+            validators.execute(() -> validate(placement, queued));
+        } catch (RejectedExecutionException e) {
+            placements.invalidate(placement.id);
+            throw new IllegalStateException("Too many orders are waiting, try again later");
+        }
+        return placement.status();
+    }
+
+    public OrderPlacementStatus getStatus(UUID id) {
+        Placement placement = placements.getIfPresent(id);
+        if (placement == null) {
+            throw new NoSuchElementException("No placement with that id");
+        }
+        return placement.status();
+    }
+
+    // the listener gets the current status right away and then every change up to a final one
+    public void subscribe(UUID id, Consumer<OrderPlacementStatus> listener) {
+        Placement placement = placements.getIfPresent(id);
+        if (placement == null) {
+            throw new NoSuchElementException("No placement with that id");
+        }
+        placement.subscribe(listener);
+    }
+
+    public void unsubscribe(UUID id, Consumer<OrderPlacementStatus> listener) {
+        Placement placement = placements.getIfPresent(id);
+        if (placement != null) {
+            placement.listeners.remove(listener);
+        }
+    }
+
+    public int getValidationQueueDepth() {
+        return validators.getQueue().size();
+    }
+
+    public int getReservationQueueDepth() {
+        return stockReservations.getQueueDepth();
+    }
+
+    public int getPersistQueueDepth() {
+        return persistQueue.size();
+    }
+
+    public StageTimer getValidationTimer() {
+        return validation;
+    }
+
+    public StageTimer getReservationTimer() {
+        return reservation;
+    }
+
+    public StageTimer getPersistenceTimer() {
+        return persistence;
+    }
+
+    public long getPlacedCount() {
+        return placed.sum();
+    }
+
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        validators.shutdown();
+        writer.interrupt();
+        notifiers.shutdown();
+    }
+
+    private void validate(Placement placement, long queued) {
+        String error;
+        try {
+            error = check(placement);
+        } catch (RuntimeException e) {
+            error = "Could not check the order";
+        }
+        validation.stop(queued);
+        if (error != null) {
+            reject(placement, error);
+        } else {
+            reserve(placement);
+        }
+    }
+
+    // phones are looked up one by one, findById is served by the second level cache where
+    // findAllById would run an IN query, and one transaction keeps it to one connection
+    private String check(Placement placement) {
+        return transactionTemplate.execute(status -> checkInTransaction(placement));
+    }
+
+    private String checkInTransaction(Placement placement) {
+        OrderPlacementRequest request = placement.request;
+        if (!userRepository.existsById(request.getUserId())) {
+            return "No User with that id";
+        }
+        Map<UUID, Phone> phones = new LinkedHashMap<>();
+        for (UUID phoneId : placement.units.keySet()) {
+            Phone phone = phoneRepository.findById(phoneId).orElse(null);
+            if (phone == null) {
+                return "Unknown phone id";
+            }
+            phones.put(phoneId, phone);
+        }
+        double total = 0;
+        for (UUID phoneId : request.getPhoneIds()) {
+            total += phones.get(phoneId).getPrice();
+        }
+        if (request.getExpectedTotal() != null
+                && Math.abs(total - request.getExpectedTotal()) > PRICE_TOLERANCE) {
+            return String.format("Prices have changed, the order now costs %.2f", total);
+        }
+        return null;
+    }
+
+    // runs on the validation thread, the last partition to answer moves the order on
+    private void reserve(Placement placement) {
+        placement.update(State.RESERVING, null, null);
+        long queued = System.nanoTime();
+        Map<UUID, CompletableFuture<Boolean>> results = new LinkedHashMap<>();
+        placement.units.forEach((phoneId, units) ->
+                results.put(phoneId, stockReservations.reserve(phoneId, units)));
+        CompletableFuture.allOf(results.values().toArray(CompletableFuture[]::new))
+                .whenComplete((ignored, failure) -> {
+                    reservation.stop(queued);
+                    reserved(placement, results);
+                });
+    }
+
+    // a reservation that failed (a full queue, a phone whose stock keeps changing) is reported
+    // as such, only a plain "no" means the stock ran out
+    private void reserved(Placement placement, Map<UUID, CompletableFuture<Boolean>> results) {
+        List<UUID> missing = new ArrayList<>();
+        List<String> failures = new ArrayList<>();
+        results.forEach((phoneId, result) -> {
+            if (!granted(result, failures)) {
+                missing.add(phoneId);
+            }
+        });
+        if (!missing.isEmpty()) {
+            results.forEach((phoneId, result) -> {
+                if (!missing.contains(phoneId)) {
+                    stockReservations.release(phoneId, placement.units.get(phoneId));
+                }
+            });
+            reject(placement, failures.isEmpty() ? "Not enough stock for " + missing
+                    : failures.get(0));
+            return;
+        }
+        placement.update(State.PERSISTING, null, null);
+        placement.persistQueued = System.nanoTime();
+        if (!persistQueue.offer(placement)) {
+            releaseAll(placement);
+            reject(placement, "Too many orders are waiting, try again later");
+        }
+    }
+
+    private static boolean granted(CompletableFuture<Boolean> result, List<String> failures) {
+        return Boolean.TRUE.equals(result.handle((granted, e) -> {
+            if (e != null) {
+                failures.add(failureMessage(e));
+            }
+            return granted;
+        }).join());
+    }
+
+    private static String failureMessage(Throwable e) {
+        Throwable cause = e instanceof CompletionException && e.getCause() != null
+                ? e.getCause() : e;
+        return cause instanceof IllegalStateException && cause.getMessage() != null
+                ? cause.getMessage() : "Could not reserve stock";
+    }
+
+    private void persistLoop() {
+        List<Placement> batch = new ArrayList<>(orderProperties.getPlacementDrainSize());
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                batch.add(persistQueue.take());
+            } catch (InterruptedException e) {
+                return;
+            }
+            persistQueue.drainTo(batch, orderProperties.getPlacementDrainSize() - 1);
+            persist(batch);
+            batch.clear();
+        }
+    }
+
+    // the same batched inserts as BulkOrderService, one transaction per drained batch. A failed
+    // batch is retried order by order, so only the order that caused it is rejected.
+    private void persist(List<Placement> batch) {
+        UUID[] ids;
+        try {
+            ids = insert(batch);
+        } catch (RuntimeException e) {
+            if (batch.size() > 1) {
+                batch.forEach(placement -> persist(List.of(placement)));
+                return;
+            }
+            persistence.stop(batch.get(0).persistQueued);
+            releaseAll(batch.get(0));
+            reject(batch.get(0), "Could not store the order");
+            return;
+        }
+        for (int i = 0; i < batch.size(); i++) {
+            persistence.stop(batch.get(i).persistQueued);
+            placed.increment();
+            batch.get(i).update(State.PLACED, ids[i], null);
+        }
+    }
+
+    private UUID[] insert(List<Placement> batch) {
+        UUID[] ids = new UUID[batch.size()];
+        transactionTemplate.executeWithoutResult(status -> {
+            for (int i = 0; i < batch.size(); i++) {
+                OrderPlacementRequest request = batch.get(i).request;
+                Orders order = new Orders(
+                        entityManager.getReference(User.class, request.getUserId()));
+                for (UUID phoneId : request.getPhoneIds()) {
+                    order.addPhone(entityManager.getReference(Phone.class, phoneId));
+                }
+                entityManager.persist(order);
+                ids[i] = order.getId();
+            }
+            entityManager.flush();
+            entityManager.clear();
+        });
+        return ids;
+    }
+
+    private void releaseAll(Placement placement) {
+        placement.units.forEach(stockReservations::release);
+    }
+
+    private void reject(Placement placement, String error) {
+        rejected.increment();
+        placement.update(State.REJECTED, null, error);
+    }
+
+    private static Thread daemon(Runnable runnable, String name) {
+        Thread thread = new Thread(runnable, name);
+        thread.setDaemon(true);
+        return thread;
+    }
+
+    // time from entering a stage's queue until the stage is done with the order
+    public static class StageTimer {
+        private final LongAdder count = new LongAdder();
+
+        private final LongAdder nanos = new LongAdder();
+
+        public long getCount() {
+            return count.sum();
+        }
+
+        public long getTotalNanos() {
+            return nanos.sum();
+        }
+
+        private void stop(long queued) {
+            nanos.add(System.nanoTime() - queued);
+            count.increment();
+        }
+    }
+
+    // Status changes are handed to the notifier pool in the order they happen and delivered
+    // by one task at a time, so every subscriber sees them in order without the stage thread
+    // waiting on its connection.
+    private static class Placement {
+        private final UUID id;
+
+        private final OrderPlacementRequest request;
+
+        // units per distinct phone
+        private final Map<UUID, Integer> units = new LinkedHashMap<>();
+
+        private final List<Consumer<OrderPlacementStatus>> listeners =
+                new CopyOnWriteArrayList<>();
+
+        private final Executor notifiers;
+
+        private final Queue<Runnable> deliveries = new ConcurrentLinkedQueue<>();
+
+        private final AtomicBoolean delivering = new AtomicBoolean();
+
+        private volatile OrderPlacementStatus status;
+
+        private long persistQueued;
+
+        Placement(UUID id, OrderPlacementRequest request, Executor notifiers) {
+            this.id = id;
+            this.request = request;
+            this.notifiers = notifiers;
+            request.getPhoneIds().forEach(phoneId -> units.merge(phoneId, 1, Integer::sum));
+            this.status = new OrderPlacementStatus(id, State.QUEUED, null, null);
+        }
+
+        OrderPlacementStatus status() {
+            return status;
+        }
+
+        // synchronized with subscribe, so a new listener sees every change after its first status
+        synchronized void update(State state, UUID orderId, String error) {
+            OrderPlacementStatus changed = new OrderPlacementStatus(id, state, orderId, error);
+            status = changed;
+            deliver(() -> {
+                listeners.forEach(listener -> send(listener, changed));
+                if (state.isFinal()) {
+                    listeners.clear();
+                }
+            });
+        }
+
+        synchronized void subscribe(Consumer<OrderPlacementStatus> listener) {
+            OrderPlacementStatus current = status;
+            deliver(() -> {
+                if (send(listener, current) && !current.getState().isFinal()) {
+                    listeners.add(listener);
+                }
+            });
+        }
+
+        private boolean send(Consumer<OrderPlacementStatus> listener,
+                             OrderPlacementStatus changed) {
+            try {
+                listener.accept(changed);
+                return true;
+            } catch (RuntimeException e) {
+                listeners.remove(listener);
+                return false;
+            }
+        }
+
+        private void deliver(Runnable delivery) {
+            deliveries.add(delivery);
+            schedule();
+        }
+
+        private void schedule() {
+            if (!deliveries.isEmpty() && delivering.compareAndSet(false, true)) {
+                try {
+                    notifiers.execute(this::drain);
+                } catch (RejectedExecutionException e) {
+                    // shutting down, subscribers are dropped with their connections
+                    deliveries.clear();
+                    delivering.set(false);
+                }
+            }
+        }
+
+        // a delivery added while the flag was still set is picked up by the second schedule()
+        private void drain() {
+            Runnable delivery;
+            while ((delivery = deliveries.poll()) != null) {
+                delivery.run();
+            }
+            delivering.set(false);
+            schedule();
+        }
+    }
+}
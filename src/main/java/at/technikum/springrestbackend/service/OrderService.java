@@ -1,35 +1,129 @@
 package at.technikum.springrestbackend.service;
 
+import at.technikum.springrestbackend.dto.OrderLineRow;
+import at.technikum.springrestbackend.dto.OrderPage;
+import at.technikum.springrestbackend.dto.OrderSummary;
 import at.technikum.springrestbackend.model.Orders;
-import at.technikum.springrestbackend.model.User;
+import at.technikum.springrestbackend.property.OrderProperties;
 import at.technikum.springrestbackend.repository.OrderRepository;
+import at.technikum.springrestbackend.util.ContinuationToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.observation.annotation.Observed;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Service
+@Observed(name = "service.order")
 public class OrderService {
 
     private final OrderRepository orderRepository;
 
-    public OrderService(OrderRepository orderRepository) {
+    private final OrderProperties orderProperties;
+
+    private final ObjectMapper objectMapper;
+
+    public OrderService(OrderRepository orderRepository, OrderProperties orderProperties,
+                        ObjectMapper objectMapper) {
         this.orderRepository = orderRepository;
+        this.orderProperties = orderProperties;
+        this.objectMapper = objectMapper;
+    }
+
+    @Transactional(readOnly = true)
+    public List<OrderSummary> getOrders() {
+        return orderRepository.findAll().stream().map(OrderSummary::from).toList();
+    }
+
+    @Transactional(readOnly = true)
+    public OrderSummary getOrder(UUID id) {
+        return OrderSummary.from(orderRepository.findWithPhonesById(id).orElseThrow());
+    }
+
+    @Transactional(readOnly = true)
+    public OrderPage getOrderHistory(UUID userId, String token, Integer size) {
+        int pageSize = resolvePageSize(size);
+        // fetch one extra id to know whether there is a next page
+        PageRequest limit = PageRequest.of(0, pageSize + 1);
+
+        List<UUID> ids;
+        if (token == null || token.isBlank()) {
+            ids = orderRepository.findHistoryIds(userId, limit);
+        } else {
+            ids = findHistoryIdsAfter(userId, ContinuationToken.decodePosition(token), limit);
+        }
+
+        List<UUID> pageIds = ids.size() > pageSize ? ids.subList(0, pageSize) : ids;
+        List<OrderSummary> orders = loadInOrder(pageIds);
+        if (ids.size() <= pageSize) {
+            return new OrderPage(orders, null);
+        }
+        OrderSummary last = orders.get(orders.size() - 1);
+        return new OrderPage(orders, ContinuationToken.encode(
+                new ContinuationToken.Position(last.getTimestamp(), last.getId())));
+    }
+
+    private List<UUID> findHistoryIdsAfter(UUID userId, ContinuationToken.Position position,
+                                           PageRequest limit) {
+        if (position.timestamp() == null) {
+            return orderRepository.findUndatedHistoryIdsBefore(userId, position.lastId(), limit);
+        }
+        return orderRepository.findHistoryIdsBefore(userId, position.timestamp(),
+                position.lastId(), limit);
+    }
+
+    // one JSON line per order, rows come straight from a streaming cursor
+    @Transactional(readOnly = true)
+    public void exportOrderHistory(UUID userId, OutputStream out) throws IOException {
+        try (Stream<OrderLineRow> rows = orderRepository.streamHistory(userId)) {
+            Iterator<OrderSummary> orders = OrderSummary.group(rows.iterator());
+            while (orders.hasNext()) {
+                writeLine(orders.next(), out);
+            }
+        }
+        out.flush();
     }
 
-    public List<Orders> getOrders() {
-        return orderRepository.findAll();
+    public OrderSummary createOrder(Orders order) {
+        return OrderSummary.from(orderRepository.save(order));
     }
 
-    public Orders getOrder(UUID id) {
-        return orderRepository.findById(id).orElseThrow();
+    private List<OrderSummary> loadInOrder(List<UUID> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<UUID, Integer> position = new HashMap<>();
+        for (int i = 0; i < ids.size(); i++) {
+            position.put(ids.get(i), i);
+        }
+        return orderRepository.findByIdIn(ids).stream()
+                .sorted(Comparator.comparing(order -> position.get(order.getId())))
+                .map(OrderSummary::from)
+                .toList();
     }
 
-    public List<Orders> getOrdersUser(User user) {
-        return orderRepository.findByUser(user);
+    private void writeLine(OrderSummary order, OutputStream out) throws IOException {
+        out.write(objectMapper.writeValueAsBytes(order));
+        out.write('\n');
     }
 
-    public Orders createOrder(Orders order) {
-        return orderRepository.save(order);
+    private int resolvePageSize(Integer size) {
+        if (size == null) {
+            return orderProperties.getDefaultPageSize();
+        }
+        if (size < 1) {
+            throw new IllegalArgumentException("Page size must be positive");
+        }
+        return Math.min(size, orderProperties.getMaxPageSize());
     }
 }
@@ -0,0 +1,413 @@
+package at.technikum.springrestbackend.service;
+
+import at.technikum.springrestbackend.dto.PhoneImportError;
+import at.technikum.springrestbackend.dto.PhoneImportProgress;
+import at.technikum.springrestbackend.dto.PhoneImportRow;
+import at.technikum.springrestbackend.model.Phone;
+import at.technikum.springrestbackend.property.CatalogProperties;
+import at.technikum.springrestbackend.repository.PhoneRepository;
+import at.technikum.springrestbackend.util.CollationKey;
+import at.technikum.springrestbackend.util.CsvReader;
+import at.technikum.springrestbackend.util.ExportFormat;
+import at.technikum.springrestbackend.util.TransactionCallbacks;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.observation.annotation.Observed;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.PersistenceException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+
+// Vendor catalog imports. Rows are read from the request stream and upserted in batches:
+// one query finds the existing phones of a batch, inserts and updates then go out as JDBC
+// batches. A phone is identified by brand and name, compared the way MySQL compares them,
+// so the same pair in another case or without accents updates the same row. Only the import
+// is observed, the row counters are read by every metrics scrape.
+@Service
+@RequiredArgsConstructor
+public class PhoneImportService {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    // the text columns of Phone are VARCHAR(255)
+    private static final int MAX_TEXT_LENGTH = 255;
+
+    private final PhoneRepository phoneRepository;
+
+    private final PhoneIndex phoneIndex;
+
+    private final CatalogResponseCache catalogResponseCache;
+
+    private final CatalogProperties catalogProperties;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final ObjectMapper objectMapper;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final LongAdder createdRows = new LongAdder();
+
+    private final LongAdder updatedRows = new LongAdder();
+
+    private final LongAdder failedRows = new LongAdder();
+
+    // progress is reported after every batch, so a long import can be followed while it runs
+    @Observed(name = "service.phone-import")
+    public void importPhones(ExportFormat format, InputStream in, Listener listener)
+            throws IOException {
+        Iterator<PhoneImportRow> rows = format == ExportFormat.CSV ? csvRows(in) : jsonRows(in);
+        Progress progress = new Progress(listener, catalogProperties.getImportMaxErrors());
+        int batchSize = catalogProperties.getImportBatchSize();
+        List<Candidate> batch = new ArrayList<>(batchSize);
+        try {
+            while (rows.hasNext()) {
+                PhoneImportRow row = rows.next();
+                long number = ++progress.processed;
+                try {
+                    batch.add(new Candidate(number, toPhone(row)));
+                } catch (IllegalArgumentException e) {
+                    progress.fail(number, e.getMessage());
+                }
+                if (batch.size() == batchSize) {
+                    upsert(batch, progress);
+                    batch.clear();
+                    progress.report(false);
+                }
+            }
+        } catch (IllegalArgumentException e) {
+            // nothing after a syntax error can be read, the rows before it are still stored
+            progress.fail(progress.processed + 1, "Unreadable input: " + e.getMessage());
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        upsert(batch, progress);
+        progress.report(true);
+    }
+
+    public long getCreatedCount() {
+        return createdRows.sum();
+    }
+
+    public long getUpdatedCount() {
+        return updatedRows.sum();
+    }
+
+    public long getFailedCount() {
+        return failedRows.sum();
+    }
+
+    // a failed batch is retried row by row, so the rows that still fail get the real reason
+    private void upsert(List<Candidate> batch, Progress progress) throws IOException {
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            int created = transactionTemplate.execute(status -> upsertBatch(batch));
+            progress.stored(batch.size(), created);
+        } catch (DataAccessException | PersistenceException e) {
+            if (batch.size() == 1) {
+                progress.fail(batch.get(0).row(), "Could not store the phone: "
+                        + NestedExceptionUtils.getMostSpecificCause(e).getMessage());
+                return;
+            }
+            // the rolled back batch left ids on the phones it persisted
+            for (Candidate candidate : batch) {
+                upsert(List.of(new Candidate(candidate.row(), copy(candidate.phone()))),
+                        progress);
+            }
+        }
+    }
+
+    // managed phones are changed in place, the flush sends their updates as one batch
+    private int upsertBatch(List<Candidate> batch) {
+        Set<String> names = new HashSet<>();
+        batch.forEach(candidate -> names.add(candidate.phone().getName()));
+        Map<String, Phone> phones = new HashMap<>();
+        for (Phone existing : phoneRepository.findByNameIn(names)) {
+            phones.putIfAbsent(key(existing), existing);
+        }
+        int created = 0;
+        for (Candidate candidate : batch) {
+            Phone phone = phones.get(key(candidate.phone()));
+            if (phone == null) {
+                entityManager.persist(candidate.phone());
+                phones.put(key(candidate.phone()), candidate.phone());
+                created++;
+            } else {
+                copy(candidate.phone(), phone);
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+        List<Phone> stored = List.copyOf(phones.values());
+        TransactionCallbacks.afterCommit(() -> {
+            stored.forEach(phoneIndex::put);
+            catalogResponseCache.invalidate();
+        });
+        return created;
+    }
+
+    // a row without a picture keeps the one uploaded before
+    private static void copy(Phone from, Phone to) {
+        to.setDescription(from.getDescription());
+        to.setDisplaySize(from.getDisplaySize());
+        to.setMemory(from.getMemory());
+        to.setBattery(from.getBattery());
+        to.setPrice(from.getPrice());
+        if (from.getPicture() != null) {
+            to.setPicture(from.getPicture());
+        }
+    }
+
+    private static Phone copy(Phone phone) {
+        Phone copy = new Phone();
+        copy.setName(phone.getName());
+        copy.setBrand(phone.getBrand());
+        copy(phone, copy);
+        return copy;
+    }
+
+    private static String key(Phone phone) {
+        return CollationKey.of(phone.getBrand()) + '\u0000' + CollationKey.of(phone.getName());
+    }
+
+    // the same constraints as on Phone, checked here so a row fails on its own
+    private static Phone toPhone(PhoneImportRow row) {
+        String name = limited(required(row.getName(), "name"), "name");
+        String brand = limited(required(row.getBrand(), "brand"), "brand");
+        float displaySize = parseFloat(row.getDisplaySize(), "displaySize");
+        int memory = parseInt(row.getMemory(), "memory");
+        int battery = parseInt(row.getBattery(), "battery");
+        float price = parseFloat(row.getPrice(), "price");
+        if (displaySize <= 0 || price <= 0) {
+            throw new IllegalArgumentException(
+                    (price <= 0 ? "price" : "displaySize") + " must be positive");
+        } else if (memory < 0 || battery < 0) {
+            throw new IllegalArgumentException(
+                    (memory < 0 ? "memory" : "battery") + " must not be negative");
+        }
+        Phone phone = new Phone(name, limited(blankToNull(row.getDescription()), "description"),
+                displaySize, memory, battery, price, brand);
+        phone.setPicture(limited(blankToNull(row.getPicture()), "picture"));
+        return phone;
+    }
+
+    private static String limited(String value, String field) {
+        if (value != null && value.length() > MAX_TEXT_LENGTH) {
+            throw new IllegalArgumentException(
+                    field + " is longer than " + MAX_TEXT_LENGTH + " characters");
+        }
+        return value;
+    }
+
+    private static String required(String value, String field) {
+        if (value == null || value.isBlank()) {
+            throw new IllegalArgumentException(field + " is required");
+        }
+        return value.trim();
+    }
+
+    private static float parseFloat(String value, String field) {
+        try {
+            float number = Float.parseFloat(required(value, field));
+            if (!Float.isFinite(number)) {
+                throw new NumberFormatException();
+            }
+            return number;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(field + " is not a number");
+        }
+    }
+
+    private static int parseInt(String value, String field) {
+        try {
+            return Integer.parseInt(required(value, field));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(field + " is not a whole number");
+        }
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value;
+    }
+
+    // a top level array is read element by element just like newline separated objects
+    private Iterator<PhoneImportRow> jsonRows(InputStream in) throws IOException {
+        return new JsonRows(objectMapper.readerFor(PhoneImportRow.class).readValues(in));
+    }
+
+    private Iterator<PhoneImportRow> csvRows(InputStream in) throws IOException {
+        CsvReader reader = new CsvReader(new BufferedReader(
+                new InputStreamReader(in, StandardCharsets.UTF_8), BUFFER_SIZE));
+        List<String> header = reader.next();
+        return header == null ? List.<PhoneImportRow>of().iterator() : new CsvRows(reader, header);
+    }
+
+    // unknown columns such as the id of an export are ignored
+    private static PhoneImportRow toRow(List<String> header, List<String> cells) {
+        PhoneImportRow row = new PhoneImportRow();
+        for (int i = 0; i < Math.min(header.size(), cells.size()); i++) {
+            String value = cells.get(i);
+            switch (header.get(i).trim()) {
+                case "name" -> row.setName(value);
+                case "description" -> row.setDescription(value);
+                case "displaySize" -> row.setDisplaySize(value);
+                case "memory" -> row.setMemory(value);
+                case "battery" -> row.setBattery(value);
+                case "price" -> row.setPrice(value);
+                case "brand" -> row.setBrand(value);
+                case "picture" -> row.setPicture(value);
+                default -> {
+                }
+            }
+        }
+        return row;
+    }
+
+    public interface Listener {
+        void onError(PhoneImportError error) throws IOException;
+
+        void onProgress(PhoneImportProgress progress) throws IOException;
+    }
+
+    private record Candidate(long row, Phone phone) {
+    }
+
+    // a row is only read by hasNext(), so a malformed row fails after the ones before it
+    private static final class CsvRows implements Iterator<PhoneImportRow> {
+        private final CsvReader reader;
+
+        private final List<String> header;
+
+        private List<String> next;
+
+        private boolean exhausted;
+
+        private CsvRows(CsvReader reader, List<String> header) {
+            this.reader = reader;
+            this.header = header;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (next == null && !exhausted) {
+                next = read();
+                exhausted = next == null;
+            }
+            return next != null;
+        }
+
+        @Override
+        public PhoneImportRow next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            PhoneImportRow row = toRow(header, next);
+            next = null;
+            return row;
+        }
+
+        private List<String> read() {
+            try {
+                return reader.next();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    // MappingIterator wraps syntax errors in a plain RuntimeException, so the checked variants
+    // are used and unreadable JSON ends the import like a malformed CSV row
+    private static final class JsonRows implements Iterator<PhoneImportRow> {
+        private final MappingIterator<PhoneImportRow> values;
+
+        private JsonRows(MappingIterator<PhoneImportRow> values) {
+            this.values = values;
+        }
+
+        @Override
+        public boolean hasNext() {
+            try {
+                return values.hasNextValue();
+            } catch (JsonProcessingException e) {
+                throw new IllegalArgumentException(e.getOriginalMessage(), e);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public PhoneImportRow next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            try {
+                return values.nextValue();
+            } catch (JsonProcessingException e) {
+                throw new IllegalArgumentException(e.getOriginalMessage(), e);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    private final class Progress {
+        private final Listener listener;
+
+        private final int maxErrors;
+
+        private long processed;
+
+        private long created;
+
+        private long updated;
+
+        private long failed;
+
+        private Progress(Listener listener, int maxErrors) {
+            this.listener = listener;
+            this.maxErrors = maxErrors;
+        }
+
+        private void fail(long row, String error) throws IOException {
+            failedRows.increment();
+            if (failed++ < maxErrors) {
+                listener.onError(new PhoneImportError(row, error));
+            }
+        }
+
+        private void stored(int rows, int createdNow) {
+            created += createdNow;
+            updated += rows - createdNow;
+            createdRows.add(createdNow);
+            updatedRows.add(rows - createdNow);
+        }
+
+        private void report(boolean done) throws IOException {
+            listener.onProgress(new PhoneImportProgress(processed, created, updated, failed, done));
+        }
+    }
+}
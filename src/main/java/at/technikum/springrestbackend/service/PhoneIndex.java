@@ -0,0 +1,350 @@
+package at.technikum.springrestbackend.service;
+
+import at.technikum.springrestbackend.dto.PhoneFacets;
+import at.technikum.springrestbackend.dto.PhoneSearchRequest;
+import at.technikum.springrestbackend.model.Phone;
+import at.technikum.springrestbackend.property.CatalogProperties;
+import at.technikum.springrestbackend.repository.PhoneRepository;
+import at.technikum.springrestbackend.util.CollationKey;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Read-optimized copy of the phone catalog stored as primitive columns.
+// Filtering and facet counting run over bitsets and never touch the database.
+// Brands and names are compared through CollationKey, like MySQL compares them.
+@Component
+public class PhoneIndex {
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private final PhoneRepository phoneRepository;
+    private final boolean enabled;
+    private final float[] priceBuckets;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // set once the startup load is complete, searches are refused until then
+    private volatile boolean loaded;
+
+    // phones written while the load runs, the load must not overwrite them with its snapshot
+    private Set<UUID> writtenWhileLoading = new HashSet<>();
+
+    private UUID[] ids = new UUID[INITIAL_CAPACITY];
+    // folded names, see CollationKey.fold
+    private String[] names = new String[INITIAL_CAPACITY];
+    private float[] prices = new float[INITIAL_CAPACITY];
+    private float[] displaySizes = new float[INITIAL_CAPACITY];
+    private int[] memories = new int[INITIAL_CAPACITY];
+    private int[] batteries = new int[INITIAL_CAPACITY];
+    private int[] brandCodes = new int[INITIAL_CAPACITY];
+    private int rowCount;
+
+    // rows of deleted phones are cleared here and handed out again by appendRow
+    private final BitSet live = new BitSet();
+    private final BitSet free = new BitSet();
+    private final Map<UUID, Integer> rowsById = new HashMap<>();
+
+    // dictionary encoding of the brand column, one bitset of rows per brand code. Codes are
+    // looked up by collation key, the dictionary keeps the first spelling seen for the facets.
+    private final List<String> brandDictionary = new ArrayList<>();
+    private final Map<String, Integer> brandCodeByName = new HashMap<>();
+    private final List<BitSet> rowsByBrand = new ArrayList<>();
+
+    public PhoneIndex(PhoneRepository phoneRepository, CatalogProperties catalogProperties) {
+        this.phoneRepository = phoneRepository;
+        this.enabled = catalogProperties.isIndexEnabled();
+        List<Float> buckets = catalogProperties.getPriceBuckets();
+        this.priceBuckets = new float[buckets.size()];
+        for (int i = 0; i < buckets.size(); i++) {
+            priceBuckets[i] = buckets.get(i);
+        }
+        Arrays.sort(priceBuckets);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    // The application already serves while this runs. Phones written in the meantime are
+    // skipped in the snapshot and read again afterwards, until a pass finds none.
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        if (!enabled) {
+            return;
+        }
+        Set<UUID> stale = apply(phoneRepository.findAll(), Set.of());
+        while (!stale.isEmpty()) {
+            stale = apply(phoneRepository.findAllById(stale), stale);
+        }
+    }
+
+    public void put(Phone phone) {
+        if (!enabled) {
+            return;
+        }
+        Lock writeLock = lock.writeLock();
+        writeLock.lock();
+        try {
+            putRow(phone);
+            written(phone.getId());
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    public void update(UUID id, String name, float displaySize, int memory, int battery,
+                       float price) {
+        if (!enabled) {
+            return;
+        }
+        Lock writeLock = lock.writeLock();
+        writeLock.lock();
+        try {
+            Integer row = rowsById.get(id);
+            if (row != null) {
+                setAttributes(row, name, displaySize, memory, battery, price);
+            }
+            written(id);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    public void remove(UUID id) {
+        if (!enabled) {
+            return;
+        }
+        Lock writeLock = lock.writeLock();
+        writeLock.lock();
+        try {
+            removeRow(id);
+            written(id);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    public List<UUID> findIds(PhoneSearchRequest request) {
+        Lock readLock = lock.readLock();
+        readLock.lock();
+        try {
+            BitSet matches = filter(request);
+            List<UUID> result = new ArrayList<>(matches.cardinality());
+            for (int row = matches.nextSetBit(0); row >= 0; row = matches.nextSetBit(row + 1)) {
+                result.add(ids[row]);
+            }
+            return result;
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    public PhoneFacets facets(PhoneSearchRequest request) {
+        Lock readLock = lock.readLock();
+        readLock.lock();
+        try {
+            BitSet matches = filter(request);
+            int[] brandCounts = new int[brandDictionary.size()];
+            int[] priceCounts = new int[priceBuckets.length];
+            Map<Integer, Integer> memoryCounts = new TreeMap<>();
+            for (int row = matches.nextSetBit(0); row >= 0; row = matches.nextSetBit(row + 1)) {
+                brandCounts[brandCodes[row]]++;
+                memoryCounts.merge(memories[row], 1, Integer::sum);
+                int bucket = priceBucket(prices[row]);
+                if (bucket >= 0) {
+                    priceCounts[bucket]++;
+                }
+            }
+            return new PhoneFacets(matches.cardinality(), brandFacet(brandCounts),
+                    memoryCounts, priceFacet(priceCounts));
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    // returns the phones written while the rows were read, empty once the index is loaded
+    private Set<UUID> apply(Iterable<Phone> phones, Set<UUID> requested) {
+        Lock writeLock = lock.writeLock();
+        writeLock.lock();
+        try {
+            Set<UUID> missing = new HashSet<>(requested);
+            for (Phone phone : phones) {
+                missing.remove(phone.getId());
+                if (!writtenWhileLoading.contains(phone.getId())) {
+                    putRow(phone);
+                }
+            }
+            missing.removeAll(writtenWhileLoading);
+            missing.forEach(this::removeRow);
+            Set<UUID> stale = writtenWhileLoading;
+            writtenWhileLoading = new HashSet<>();
+            loaded = stale.isEmpty();
+            return stale;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private void putRow(Phone phone) {
+        Integer row = rowsById.get(phone.getId());
+        if (row == null) {
+            row = appendRow(phone.getId());
+        } else {
+            rowsByBrand.get(brandCodes[row]).clear(row);
+        }
+        int brandCode = encodeBrand(phone.getBrand());
+        brandCodes[row] = brandCode;
+        rowsByBrand.get(brandCode).set(row);
+        setAttributes(row, phone.getName(), phone.getDisplaySize(), phone.getMemory(),
+                phone.getBattery(), phone.getPrice());
+    }
+
+    private void removeRow(UUID id) {
+        Integer row = rowsById.remove(id);
+        if (row != null) {
+            live.clear(row);
+            free.set(row);
+            rowsByBrand.get(brandCodes[row]).clear(row);
+            ids[row] = null;
+            names[row] = null;
+        }
+    }
+
+    private void written(UUID id) {
+        if (!loaded) {
+            writtenWhileLoading.add(id);
+        }
+    }
+
+    private BitSet filter(PhoneSearchRequest request) {
+        BitSet matches = (BitSet) live.clone();
+        String brand = request.getBrand();
+        if (brand != null && !brand.isBlank()) {
+            Integer code = brandCodeByName.get(CollationKey.of(brand));
+            if (code == null) {
+                return new BitSet();
+            }
+            matches.and(rowsByBrand.get(code));
+        }
+        // folded once here, not for every row
+        String prefix = request.getNamePrefix() == null ? null
+                : CollationKey.fold(request.getNamePrefix());
+        for (int row = matches.nextSetBit(0); row >= 0; row = matches.nextSetBit(row + 1)) {
+            if (!matchesRow(row, request, prefix)) {
+                matches.clear(row);
+            }
+        }
+        return matches;
+    }
+
+    private boolean matchesRow(int row, PhoneSearchRequest request, String prefix) {
+        return inRange(prices[row], request.getMinPrice(), request.getMaxPrice())
+                && inRange(memories[row], request.getMinMemory(), request.getMaxMemory())
+                && inRange(batteries[row], request.getMinBattery(), request.getMaxBattery())
+                && inRange(displaySizes[row],
+                        request.getMinDisplaySize(), request.getMaxDisplaySize())
+                && (prefix == null || (names[row] != null && names[row].startsWith(prefix)));
+    }
+
+    private static boolean inRange(float value, Float min, Float max) {
+        return (min == null || value >= min) && (max == null || value <= max);
+    }
+
+    private static boolean inRange(int value, Integer min, Integer max) {
+        return (min == null || value >= min) && (max == null || value <= max);
+    }
+
+    private int appendRow(UUID id) {
+        int row = free.nextSetBit(0);
+        if (row >= 0) {
+            free.clear(row);
+        } else {
+            if (rowCount == ids.length) {
+                grow(rowCount * 2);
+            }
+            row = rowCount++;
+        }
+        ids[row] = id;
+        rowsById.put(id, row);
+        live.set(row);
+        return row;
+    }
+
+    private void grow(int capacity) {
+        ids = Arrays.copyOf(ids, capacity);
+        names = Arrays.copyOf(names, capacity);
+        prices = Arrays.copyOf(prices, capacity);
+        displaySizes = Arrays.copyOf(displaySizes, capacity);
+        memories = Arrays.copyOf(memories, capacity);
+        batteries = Arrays.copyOf(batteries, capacity);
+        brandCodes = Arrays.copyOf(brandCodes, capacity);
+    }
+
+    private void setAttributes(int row, String name, float displaySize, int memory, int battery,
+                               float price) {
+        names[row] = name == null ? null : CollationKey.fold(name);
+        displaySizes[row] = displaySize;
+        memories[row] = memory;
+        batteries[row] = battery;
+        prices[row] = price;
+    }
+
+    private int encodeBrand(String brand) {
+        String name = Objects.requireNonNullElse(brand, "");
+        return brandCodeByName.computeIfAbsent(CollationKey.of(name), key -> {
+            brandDictionary.add(name);
+            rowsByBrand.add(new BitSet());
+            return brandDictionary.size() - 1;
+        });
+    }
+
+    private int priceBucket(float price) {
+        for (int i = priceBuckets.length - 1; i >= 0; i--) {
+            if (price >= priceBuckets[i]) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private Map<String, Integer> brandFacet(int[] brandCounts) {
+        Map<String, Integer> facet = new LinkedHashMap<>();
+        for (int code = 0; code < brandCounts.length; code++) {
+            if (brandCounts[code] > 0) {
+                facet.put(brandDictionary.get(code), brandCounts[code]);
+            }
+        }
+        return facet;
+    }
+
+    private Map<String, Integer> priceFacet(int[] priceCounts) {
+        Map<String, Integer> facet = new LinkedHashMap<>();
+        for (int i = 0; i < priceBuckets.length; i++) {
+            String label = i + 1 < priceBuckets.length
+                    ? priceBuckets[i] + "-" + priceBuckets[i + 1]
+                    : priceBuckets[i] + "+";
+            facet.put(label, priceCounts[i]);
+        }
+        return facet;
+    }
+}
@@ -1,25 +1,73 @@
 package at.technikum.springrestbackend.service;
 
-import at.technikum.springrestbackend.model.Brand;
+import at.technikum.springrestbackend.dto.PhoneFacets;
+import at.technikum.springrestbackend.dto.PhonePage;
+import at.technikum.springrestbackend.dto.PhoneSearchRequest;
 import at.technikum.springrestbackend.model.Phone;
-import at.technikum.springrestbackend.model.User;
+import at.technikum.springrestbackend.model.PhoneStock;
+import at.technikum.springrestbackend.property.CatalogProperties;
 import at.technikum.springrestbackend.repository.PhoneRepository;
+import at.technikum.springrestbackend.repository.PhoneSpecifications;
+import at.technikum.springrestbackend.repository.PhoneStockRepository;
+import at.technikum.springrestbackend.util.ContinuationToken;
+import at.technikum.springrestbackend.util.TransactionCallbacks;
+import jakarta.persistence.EntityManagerFactory;
 import jakarta.transaction.Transactional;
+import io.micrometer.observation.annotation.Observed;
 import lombok.AllArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
 import java.util.UUID;
 
 @Service
+@Observed(name = "service.phone")
 @AllArgsConstructor
 public class PhoneService {
 
+    private static final Set<String> SORTABLE_FIELDS =
+            Set.of("price", "memory", "battery", "displaySize", "name");
+
     private final PhoneRepository phoneRepository;
 
+    private final CatalogProperties catalogProperties;
+
+    private final PhoneIndex phoneIndex;
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    private final CatalogResponseCache catalogResponseCache;
+
+    private final PhoneStockRepository phoneStockRepository;
+
     public List<Phone> getPhones() {
         return phoneRepository.findAll();
     }
 
+    public PhonePage getPhonePage(String token, Integer size) {
+        int pageSize = resolvePageSize(size);
+        // fetch one extra row to know whether there is a next page
+        PageRequest limit = PageRequest.of(0, pageSize + 1);
+
+        List<Phone> phones;
+        if (token == null || token.isBlank()) {
+            phones = phoneRepository.findAllByOrderByIdAsc(limit);
+        } else {
+            UUID lastId = ContinuationToken.decode(token);
+            phones = phoneRepository.findByIdGreaterThanOrderByIdAsc(lastId, limit);
+        }
+
+        if (phones.size() <= pageSize) {
+            return new PhonePage(phones, null);
+        }
+        List<Phone> page = phones.subList(0, pageSize);
+        return new PhonePage(page, ContinuationToken.encode(page.get(pageSize - 1).getId()));
+    }
+
     public Phone getPhone(UUID id) {
         return phoneRepository.findById(id).orElseThrow();
     }
@@ -28,16 +76,39 @@ public class PhoneService {
         return phoneRepository.findByName(name);
     }
 
-    public List<Phone> getPhonesDisplay(float displaySize) {
-        return phoneRepository.findByDisplaySize(displaySize);
+    public Page<Phone> searchPhones(PhoneSearchRequest request) {
+        if (!SORTABLE_FIELDS.contains(request.getSort())) {
+            throw new IllegalArgumentException("Cannot sort by " + request.getSort());
+        }
+        if (request.getPage() < 0) {
+            throw new IllegalArgumentException("Page must not be negative");
+        }
+        // id as tie-breaker keeps the order stable between pages
+        Sort sort = Sort.by(Sort.Direction.fromString(request.getDirection()), request.getSort())
+                .and(Sort.by("id"));
+        PageRequest pageRequest = PageRequest.of(request.getPage(),
+                resolvePageSize(request.getSize()), sort);
+
+        return phoneRepository.findAll(PhoneSpecifications.matching(request), pageRequest);
     }
 
-    public List<Phone> getPhonesMemory(int memory) {
-        return phoneRepository.findByMemory(memory);
+    public PhoneFacets getPhoneFacets(PhoneSearchRequest request) {
+        checkPhoneIndex();
+        return phoneIndex.facets(request);
     }
 
-    public List<Phone> getPhonesBattery(int battery) {
-        return phoneRepository.findByBattery(battery);
+    public List<UUID> getPhoneIds(PhoneSearchRequest request) {
+        checkPhoneIndex();
+        return phoneIndex.findIds(request);
+    }
+
+    // an index that is still loading would answer with part of the catalog
+    private void checkPhoneIndex() {
+        if (!phoneIndex.isEnabled()) {
+            throw new IllegalStateException("The phone index is disabled");
+        } else if (!phoneIndex.isLoaded()) {
+            throw new IllegalStateException("The phone index is still loading");
+        }
     }
 
     public List<Phone> getPhoneByName(String name) {
@@ -45,24 +116,65 @@ public class PhoneService {
     }
 
 
-    public List<Phone> getPhonesPrice(float price) {
-        return phoneRepository.findByPrice(price);
+    public Phone createPhone(Phone phone) {
+        Phone saved = phoneRepository.save(phone);
+        TransactionCallbacks.afterCommit(() -> {
+            phoneIndex.put(saved);
+            catalogResponseCache.invalidate();
+        });
+        return saved;
     }
-
-    public List<Phone> getPhonesBrand(Brand brand) {
-        return phoneRepository.findByBrand(brand);
+    // without a quantity the phone is no longer stock-tracked and never runs out
+    @Transactional
+    public void setStock(UUID id, Integer quantity) {
+        if (quantity != null && quantity < 0) {
+            throw new IllegalArgumentException("Quantity must not be negative");
+        } else if (!phoneRepository.existsById(id)) {
+            throw new NoSuchElementException("Phone not found");
+        }
+        if (quantity == null) {
+            phoneStockRepository.deleteById(id);
+        } else {
+            phoneStockRepository.save(new PhoneStock(id, quantity));
+        }
     }
 
-    public Phone createPhone(Phone phone) {
-        return phoneRepository.save(phone);
-    }
     @Transactional
     public void deletePhone(UUID id) {
         phoneRepository.deletePhoneById(id);
+        TransactionCallbacks.afterCommit(() -> {
+            evictFromCache(id);
+            phoneIndex.remove(id);
+            catalogResponseCache.invalidate();
+        });
     }
     @Transactional
     public int updatePhoneInfo(UUID oldId, String newName, String newDescription, float newDisplaySize, int newMemory, int newBattery, float newPrice, String newImage) {
-        return phoneRepository.updatePhoneInfo(oldId, newName, newDescription, newDisplaySize, newMemory, newBattery, newPrice, newImage);
+        int affectedRows = phoneRepository.updatePhoneInfo(oldId, newName, newDescription,
+                newDisplaySize, newMemory, newBattery, newPrice, newImage);
+        if (affectedRows > 0) {
+            TransactionCallbacks.afterCommit(() -> {
+                evictFromCache(oldId);
+                phoneIndex.update(oldId, newName, newDisplaySize, newMemory, newBattery, newPrice);
+                catalogResponseCache.invalidate();
+            });
+        }
+        return affectedRows;
+    }
+
+    // Hibernate already invalidates the region for bulk statements, this covers the row
+    // explicitly so correctness does not depend on how the repository query is written
+    private void evictFromCache(UUID id) {
+        entityManagerFactory.getCache().evict(Phone.class, id);
     }
-}
 
+    private int resolvePageSize(Integer size) {
+        if (size == null) {
+            return catalogProperties.getDefaultPageSize();
+        }
+        if (size < 1) {
+            throw new IllegalArgumentException("Page size must be positive");
+        }
+        return Math.min(size, catalogProperties.getMaxPageSize());
+    }
+}
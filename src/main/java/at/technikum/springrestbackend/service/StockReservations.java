@@ -0,0 +1,223 @@
+package at.technikum.springrestbackend.service;
+
+import at.technikum.springrestbackend.property.OrderProperties;
+import at.technikum.springrestbackend.repository.PhoneStockRepository;
+import jakarta.annotation.PreDestroy;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.LongAdder;
+
+// Stock is reserved by partitions, each one a single thread owning a fixed share of the
+// phones. Reservations of a hot phone queue up in memory instead of on its row lock, and a
+// partition settles everything it has queued for one phone with a single conditional UPDATE.
+// Another instance or a stock change in between only costs a retry, never an oversell.
+@Component
+public class StockReservations {
+
+    private static final int MAX_ATTEMPTS = 3;
+
+    private final PhoneStockRepository phoneStockRepository;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final int drainSize;
+
+    private final int capacity;
+
+    private final Partition[] partitions;
+
+    private final LongAdder settledPhones = new LongAdder();
+
+    private final LongAdder conflicts = new LongAdder();
+
+    private final LongAdder releaseFailures = new LongAdder();
+
+    public StockReservations(PhoneStockRepository phoneStockRepository,
+                             TransactionTemplate transactionTemplate,
+                             OrderProperties orderProperties) {
+        this.phoneStockRepository = phoneStockRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.drainSize = orderProperties.getPlacementDrainSize();
+        this.capacity = orderProperties.getPlacementQueueCapacity();
+        this.partitions = new Partition[orderProperties.getPlacementPartitions()];
+        for (int i = 0; i < partitions.length; i++) {
+            partitions[i] = new Partition(i);
+        }
+    }
+
+    // false when the phone has fewer units left, untracked phones are always granted
+    public CompletableFuture<Boolean> reserve(UUID phoneId, int units) {
+        Request request = new Request(phoneId, units, true, new CompletableFuture<>());
+        Partition partition = partitionOf(phoneId);
+        if (partition.queue.size() >= capacity) {
+            request.result().completeExceptionally(
+                    new IllegalStateException("Too many reservations are waiting"));
+        } else {
+            partition.queue.add(request);
+        }
+        return request.result();
+    }
+
+    // never turned away and never blocks, partitions release for each other
+    public void release(UUID phoneId, int units) {
+        partitionOf(phoneId).queue.add(
+                new Request(phoneId, units, false, new CompletableFuture<>()));
+    }
+
+    public int getQueueDepth() {
+        int depth = 0;
+        for (Partition partition : partitions) {
+            depth += partition.queue.size();
+        }
+        return depth;
+    }
+
+    public long getSettledCount() {
+        return settledPhones.sum();
+    }
+
+    public long getConflictCount() {
+        return conflicts.sum();
+    }
+
+    public long getReleaseFailureCount() {
+        return releaseFailures.sum();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        for (Partition partition : partitions) {
+            partition.thread.interrupt();
+        }
+    }
+
+    private Partition partitionOf(UUID phoneId) {
+        return partitions[Math.floorMod(phoneId.hashCode(), partitions.length)];
+    }
+
+    // requests of one phone keep their order, so reservations are granted first come first served
+    private void settle(List<Request> drained) {
+        Map<UUID, List<Request>> byPhone = new LinkedHashMap<>();
+        for (Request request : drained) {
+            byPhone.computeIfAbsent(request.phoneId(), id -> new ArrayList<>()).add(request);
+        }
+        byPhone.forEach(this::settle);
+    }
+
+    private void settle(UUID phoneId, List<Request> requests) {
+        List<Request> reservations = new ArrayList<>(requests.size());
+        int released = 0;
+        for (Request request : requests) {
+            if (request.reserve()) {
+                reservations.add(request);
+            } else {
+                released += request.units();
+            }
+        }
+        if (released > 0) {
+            settleRelease(phoneId, released);
+        }
+        if (!reservations.isEmpty()) {
+            settleReservations(phoneId, reservations);
+        }
+    }
+
+    // returned units commit on their own before the reservations, so a failed reservation
+    // never takes them down with it. A failed release goes back into the partition's queue.
+    private void settleRelease(UUID phoneId, int units) {
+        try {
+            transactionTemplate.executeWithoutResult(
+                    status -> phoneStockRepository.release(phoneId, units));
+        } catch (RuntimeException e) {
+            releaseFailures.increment();
+            partitionOf(phoneId).queue.add(
+                    new Request(phoneId, units, false, new CompletableFuture<>()));
+        }
+    }
+
+    private void settleReservations(UUID phoneId, List<Request> requests) {
+        for (int attempt = 1; attempt <= MAX_ATTEMPTS; attempt++) {
+            try {
+                boolean[] granted = transactionTemplate.execute(
+                        status -> reserveInTransaction(phoneId, requests));
+                settledPhones.increment();
+                for (int i = 0; i < requests.size(); i++) {
+                    requests.get(i).result().complete(granted[i]);
+                }
+                return;
+            } catch (ConcurrentStockChangeException e) {
+                conflicts.increment();
+            } catch (RuntimeException e) {
+                requests.forEach(request -> request.result().completeExceptionally(e));
+                return;
+            }
+        }
+        requests.forEach(request -> request.result().completeExceptionally(
+                new IllegalStateException("Stock of phone " + phoneId + " keeps changing")));
+    }
+
+    private boolean[] reserveInTransaction(UUID phoneId, List<Request> requests) {
+        Integer available = phoneStockRepository.findQuantity(phoneId).orElse(null);
+        boolean[] granted = new boolean[requests.size()];
+        int reserved = 0;
+        for (int i = 0; i < requests.size(); i++) {
+            Request request = requests.get(i);
+            granted[i] = available == null || reserved + request.units() <= available;
+            reserved += granted[i] ? request.units() : 0;
+        }
+        if (available != null && reserved > 0
+                && phoneStockRepository.reserve(phoneId, reserved) == 0) {
+            throw new ConcurrentStockChangeException();
+        }
+        return granted;
+    }
+
+    private record Request(UUID phoneId, int units, boolean reserve,
+                           CompletableFuture<Boolean> result) {
+    }
+
+    // rolls the reservation back before it is retried
+    private static class ConcurrentStockChangeException extends RuntimeException {
+        ConcurrentStockChangeException() {
+            super(null, null, false, false);
+        }
+    }
+
+    private class Partition implements Runnable {
+        private final BlockingQueue<Request> queue;
+
+        private final Thread thread;
+
+        // unbounded so releases always fit, reserve() keeps reservations within the capacity
+        Partition(int index) {
+            this.queue = new LinkedBlockingQueue<>();
+            this.thread = new Thread(this, "stock-reservations-" + index);
+            this.thread.setDaemon(true);
+            this.thread.start();
+        }
+
+        @Override
+        public void run() {
+            List<Request> drained = new ArrayList<>(drainSize);
+            while (!Thread.currentThread().isInterrupted()) {
+                try {
+                    drained.add(queue.take());
+                } catch (InterruptedException e) {
+                    return;
+                }
+                queue.drainTo(drained, drainSize - 1);
+                settle(drained);
+                drained.clear();
+            }
+        }
+    }
+}
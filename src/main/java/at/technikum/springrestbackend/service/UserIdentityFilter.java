@@ -0,0 +1,100 @@
+package at.technikum.springrestbackend.service;
+
+import at.technikum.springrestbackend.dto.UserIdentity;
+import at.technikum.springrestbackend.property.IdentityFilterProperties;
+import at.technikum.springrestbackend.repository.UserRepository;
+import at.technikum.springrestbackend.util.BloomFilter;
+import at.technikum.springrestbackend.util.CollationKey;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+// Bloom filters of taken usernames and emails. A negative answer is definite and saves the
+// exists query, a positive one still has to be confirmed by the database. Values are only
+// ever added: deleted or renamed users stay in as false positives until the next restart.
+@Component
+public class UserIdentityFilter {
+
+    private final UserRepository userRepository;
+
+    private final IdentityFilterProperties properties;
+
+    private final BloomFilter usernames;
+
+    private final BloomFilter emails;
+
+    // until the startup scan is done every check falls through to the database
+    private volatile boolean ready;
+
+    private final LongAdder definiteNegatives = new LongAdder();
+
+    private final LongAdder possiblePositives = new LongAdder();
+
+    public UserIdentityFilter(UserRepository userRepository, IdentityFilterProperties properties) {
+        this.userRepository = userRepository;
+        this.properties = properties;
+        // sized before any user can be added, the filters are never swapped later
+        long expected = properties.isEnabled()
+                ? Math.max(properties.getExpectedInsertions(), 2 * userRepository.count())
+                : 1;
+        this.usernames = new BloomFilter(expected, properties.getFalsePositiveRate());
+        this.emails = new BloomFilter(expected, properties.getFalsePositiveRate());
+    }
+
+    // users created while the scan runs are added to the same filters, so none are missed
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void load() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        try (Stream<UserIdentity> identities = userRepository.streamIdentities()) {
+            identities.forEach(identity -> add(identity.getUsername(), identity.getEmail()));
+        }
+        ready = true;
+    }
+
+    // called before the row is written, so a concurrent check can never miss it
+    public void add(String username, String email) {
+        if (username != null) {
+            usernames.put(normalize(username));
+        }
+        if (email != null) {
+            emails.put(normalize(email));
+        }
+    }
+
+    public boolean mightContainUsername(String username) {
+        return mightContain(usernames, username);
+    }
+
+    public boolean mightContainEmail(String email) {
+        return mightContain(emails, email);
+    }
+
+    public long getDefiniteNegativeCount() {
+        return definiteNegatives.sum();
+    }
+
+    public long getPossiblePositiveCount() {
+        return possiblePositives.sum();
+    }
+
+    private boolean mightContain(BloomFilter filter, String value) {
+        if (!ready || value == null || filter.mightContain(normalize(value))) {
+            possiblePositives.increment();
+            return true;
+        }
+        definiteNegatives.increment();
+        return false;
+    }
+
+    // the unique indexes ignore case and accents, PAD SPACE collations trailing spaces too
+    private static String normalize(String value) {
+        return CollationKey.of(value);
+    }
+}
@@ -2,11 +2,22 @@ package at.technikum.springrestbackend.service;
 
 import at.technikum.springrestbackend.dto.TokenRequest;
 import at.technikum.springrestbackend.dto.TokenResponse;
+import at.technikum.springrestbackend.dto.UserDirectoryRequest;
+import at.technikum.springrestbackend.dto.UserPage;
+import at.technikum.springrestbackend.dto.UserSummary;
+import at.technikum.springrestbackend.model.Salutation;
 import at.technikum.springrestbackend.model.User;
+import at.technikum.springrestbackend.property.UserDirectoryProperties;
 import at.technikum.springrestbackend.repository.UserRepository;
 import at.technikum.springrestbackend.security.TokenIssuer;
+import at.technikum.springrestbackend.security.user.UserCredentialsCache;
 import at.technikum.springrestbackend.security.user.UserPrincipal;
+import at.technikum.springrestbackend.util.ContinuationToken;
+import at.technikum.springrestbackend.util.TransactionCallbacks;
+import jakarta.transaction.Transactional;
+import io.micrometer.observation.annotation.Observed;
 import lombok.AllArgsConstructor;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
@@ -17,12 +28,19 @@ import java.util.List;
 import java.util.UUID;
 
 @Service
+@Observed(name = "service.user")
 @AllArgsConstructor
 public class UserService {
 
 
     private final UserRepository userRepository;
 
+    private final UserCredentialsCache userCredentialsCache;
+
+    private final UserIdentityFilter userIdentityFilter;
+
+    private final UserDirectoryProperties userDirectoryProperties;
+
 
 
 
@@ -31,6 +49,24 @@ public class UserService {
         return userRepository.findAll();
     }
 
+    // keyset pagination on username, every page costs the same however deep it is
+    public UserPage getUserDirectory(UserDirectoryRequest request) {
+        int pageSize = resolvePageSize(request.getSize());
+        String after = request.getToken() == null || request.getToken().isBlank()
+                ? null : ContinuationToken.decodeKey(request.getToken());
+        // fetch one extra row to know whether there is a next page
+        List<UserSummary> users = userRepository.findDirectory(request.getRole(),
+                request.getFirstname(), request.getLastname(), request.getCountry(),
+                request.getStatus(), after, PageRequest.of(0, pageSize + 1));
+
+        if (users.size() <= pageSize) {
+            return new UserPage(users, null);
+        }
+        List<UserSummary> page = users.subList(0, pageSize);
+        return new UserPage(page,
+                ContinuationToken.encodeKey(page.get(pageSize - 1).getUsername()));
+    }
+
     public User getUser(UUID id) {
         return userRepository.findById(id).orElseThrow();
     }
@@ -39,7 +75,7 @@ public class UserService {
         return userRepository.findByUsername(username);
     }
 
-    public List<User> getUsersRole(int role) {
+    public List<User> getUsersRole(String role) {
         return userRepository.findByRole(role);
     }
 
@@ -64,15 +100,54 @@ public class UserService {
     }
 
     public User createUser(User user) {
-        return userRepository.save(user);
+        userIdentityFilter.add(user.getUsername(), user.getEmail());
+        User saved = userRepository.save(user);
+        userCredentialsCache.invalidate(saved.getUsername());
+        return saved;
     }
+
+    @Transactional
+    public int updateUserInfo(String oldUsername, String newUsername, String newPassword,
+                              String newRole, String newFirstname, String newLastname,
+                              Salutation newSalutation, String newEmail, String newCountry,
+                              String newProfilePicture, boolean newStatus) {
+        userIdentityFilter.add(newUsername, newEmail);
+        int affectedRows = userRepository.updateUserInfo(oldUsername, newUsername, newPassword,
+                newRole, newFirstname, newLastname, newSalutation, newEmail, newCountry,
+                newProfilePicture, newStatus);
+        TransactionCallbacks.afterCommit(() -> {
+            userCredentialsCache.invalidate(oldUsername);
+            userCredentialsCache.invalidate(newUsername);
+        });
+        return affectedRows;
+    }
+
+    @Transactional
+    public void deleteUser(UUID id) {
+        userRepository.findById(id).ifPresent(user -> {
+            userRepository.delete(user);
+            TransactionCallbacks.afterCommit(
+                    () -> userCredentialsCache.invalidate(user.getUsername()));
+        });
+    }
+    // the filter answers most checks for free names without a query
     public boolean isUsernameTaken(String username) {
-        return userRepository.existsByUsername(username);
+        return userIdentityFilter.mightContainUsername(username)
+                && userRepository.existsByUsername(username);
     }
 
     public boolean isEmailTaken(String email) {
-        return userRepository.existsByEmail(email);
+        return userIdentityFilter.mightContainEmail(email)
+                && userRepository.existsByEmail(email);
     }
 
-
+    private int resolvePageSize(Integer size) {
+        if (size == null) {
+            return userDirectoryProperties.getDefaultPageSize();
+        }
+        if (size < 1) {
+            throw new IllegalArgumentException("Page size must be positive");
+        }
+        return Math.min(size, userDirectoryProperties.getMaxPageSize());
+    }
 }
@@ -0,0 +1,57 @@
+package at.technikum.springrestbackend.util;
+
+// A single resolved "bytes=" range of a resource, both ends inclusive.
+public record ByteRange(long start, long end) {
+
+    public long length() {
+        return end - start + 1;
+    }
+
+    // null means the header is absent, malformed or asks for several ranges, so the
+    // whole resource is sent; an unsatisfiable range throws IllegalArgumentException
+    public static ByteRange parse(String header, long size) {
+        if (header == null || !header.startsWith("bytes=") || header.indexOf(',') >= 0) {
+            return null;
+        }
+        String spec = header.substring("bytes=".length()).trim();
+        int dash = spec.indexOf('-');
+        if (dash < 0) {
+            return null;
+        }
+        String first = spec.substring(0, dash).trim();
+        String last = spec.substring(dash + 1).trim();
+        long start = position(first);
+        long end = position(last);
+        if (first.isEmpty()) {
+            // bytes=-5 asks for the last 5 bytes, bytes=- or bytes=--5 is malformed
+            return end < 0 ? null : satisfiable(Math.max(0, size - end), size - 1, size);
+        }
+        if (start < 0 || (!last.isEmpty() && end < 0)) {
+            return null;
+        }
+        if (!last.isEmpty() && end < start) {
+            // an invalid range such as bytes=5-3 is ignored, not unsatisfiable
+            return null;
+        }
+        return satisfiable(start, last.isEmpty() ? size - 1 : Math.min(end, size - 1), size);
+    }
+
+    // a byte position is plain digits, anything else (a sign, spaces, overflow) gives -1
+    private static long position(String value) {
+        if (value.isEmpty() || !value.chars().allMatch(c -> c >= '0' && c <= '9')) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private static ByteRange satisfiable(long start, long end, long size) {
+        if (size == 0 || start >= size || start > end) {
+            throw new IllegalArgumentException("Range not satisfiable");
+        }
+        return new ByteRange(start, end);
+    }
+}
@@ -0,0 +1,26 @@
+package at.technikum.springrestbackend.util;
+
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+// Strings MySQL's case and accent insensitive collations call equal share the same key:
+// trailing spaces are dropped, accents removed and the case folded. A few strings the
+// collation keeps apart may share one too, so the key only narrows down a lookup.
+public class CollationKey {
+
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+
+    private CollationKey() {
+    }
+
+    public static String of(String value) {
+        return fold(value.stripTrailing());
+    }
+
+    // without dropping trailing spaces, for prefixes as in LIKE 'Galaxy %'
+    public static String fold(String value) {
+        String decomposed = Normalizer.normalize(value, Normalizer.Form.NFD);
+        return COMBINING_MARKS.matcher(decomposed).replaceAll("").toLowerCase(Locale.ROOT);
+    }
+}
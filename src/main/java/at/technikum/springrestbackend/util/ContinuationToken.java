@@ -0,0 +1,91 @@
+package at.technikum.springrestbackend.util;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.util.Base64;
+import java.util.UUID;
+
+public class ContinuationToken {
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+    // nanos are 0..999999999, so -1 marks a position on a row without a timestamp
+    private static final int NO_TIMESTAMP = -1;
+
+    private ContinuationToken() {
+    }
+
+    // position after the last row of a page that is sorted by (timestamp, id)
+    public record Position(Timestamp timestamp, UUID lastId) {
+    }
+
+    public static String encode(UUID lastId) {
+        ByteBuffer buffer = ByteBuffer.allocate(16);
+        putUuid(buffer, lastId);
+        return ENCODER.encodeToString(buffer.array());
+    }
+
+    public static String encode(Position position) {
+        ByteBuffer buffer = ByteBuffer.allocate(28);
+        Timestamp timestamp = position.timestamp();
+        buffer.putLong(timestamp == null ? 0 : timestamp.getTime());
+        buffer.putInt(timestamp == null ? NO_TIMESTAMP : timestamp.getNanos());
+        putUuid(buffer, position.lastId());
+        return ENCODER.encodeToString(buffer.array());
+    }
+
+    // position after the last row of a page that is sorted by a unique string column
+    public static String encodeKey(String lastKey) {
+        return ENCODER.encodeToString(lastKey.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static String decodeKey(String token) {
+        try {
+            return new String(DECODER.decode(token), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid continuation token", e);
+        }
+    }
+
+    public static UUID decode(String token) {
+        return getUuid(read(token, 16));
+    }
+
+    public static Position decodePosition(String token) {
+        ByteBuffer buffer = read(token, 28);
+        long millis = buffer.getLong();
+        int nanos = buffer.getInt();
+        if (nanos == NO_TIMESTAMP) {
+            return new Position(null, getUuid(buffer));
+        }
+        Timestamp timestamp = new Timestamp(millis);
+        try {
+            timestamp.setNanos(nanos);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid continuation token", e);
+        }
+        return new Position(timestamp, getUuid(buffer));
+    }
+
+    private static ByteBuffer read(String token, int length) {
+        byte[] bytes;
+        try {
+            bytes = DECODER.decode(token);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid continuation token", e);
+        }
+        if (bytes.length != length) {
+            throw new IllegalArgumentException("Invalid continuation token");
+        }
+        return ByteBuffer.wrap(bytes);
+    }
+
+    private static void putUuid(ByteBuffer buffer, UUID id) {
+        buffer.putLong(id.getMostSignificantBits());
+        buffer.putLong(id.getLeastSignificantBits());
+    }
+
+    private static UUID getUuid(ByteBuffer buffer) {
+        return new UUID(buffer.getLong(), buffer.getLong());
+    }
+}
@@ -0,0 +1,71 @@
+package at.technikum.springrestbackend.util;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+// RFC 4180 records read one at a time from a stream. Quoted cells may contain commas,
+// doubled quotes and line breaks. The counterpart of the CSV writer in ExportService.
+public class CsvReader {
+
+    private final Reader reader;
+
+    private int next = -2;
+
+    public CsvReader(Reader reader) {
+        this.reader = reader;
+    }
+
+    // null once the stream is exhausted, malformed input is an IllegalArgumentException
+    public List<String> next() throws IOException {
+        if (peek() == -1) {
+            return null;
+        }
+        List<String> cells = new ArrayList<>();
+        StringBuilder cell = new StringBuilder();
+        while (true) {
+            int c = read();
+            if (c == '"' && cell.isEmpty()) {
+                readQuoted(cell);
+            } else if (c == ',') {
+                cells.add(cell.toString());
+                cell.setLength(0);
+            } else if (c == '\r' || c == '\n' || c == -1) {
+                if (c == '\r' && peek() == '\n') {
+                    read();
+                }
+                cells.add(cell.toString());
+                return cells;
+            } else {
+                cell.append((char) c);
+            }
+        }
+    }
+
+    // up to the closing quote, a doubled quote inside stands for one
+    private void readQuoted(StringBuilder cell) throws IOException {
+        while (true) {
+            int c = read();
+            if (c == -1) {
+                throw new IllegalArgumentException("Unterminated quote");
+            } else if (c == '"' && peek() != '"') {
+                return;
+            }
+            cell.append((char) (c == '"' ? read() : c));
+        }
+    }
+
+    private int peek() throws IOException {
+        if (next == -2) {
+            next = reader.read();
+        }
+        return next;
+    }
+
+    private int read() throws IOException {
+        int c = peek();
+        next = -2;
+        return c;
+    }
+}
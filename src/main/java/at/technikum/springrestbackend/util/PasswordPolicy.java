@@ -0,0 +1,101 @@
+package at.technikum.springrestbackend.util;
+
+import at.technikum.springrestbackend.property.PasswordPolicyProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Checks all password rules in one pass over the characters. check() allocates nothing and
+// returns the failed rules as a bit set of PasswordRule, describe() turns that into messages.
+@Component
+public class PasswordPolicy {
+
+    private final int minLength;
+
+    private final boolean allowWhitespace;
+
+    private final String specialCharacters;
+
+    // specials are looked up by character, anything above 127 is never special
+    private final boolean[] special = new boolean[128];
+
+    // the rules that are enforced at all, checked rules only fail if they are in here
+    private final int enabledRules;
+
+    public PasswordPolicy(PasswordPolicyProperties properties) {
+        this.minLength = properties.getMinLength();
+        this.allowWhitespace = properties.isAllowWhitespace();
+        this.specialCharacters = properties.getSpecialCharacters();
+        for (int i = 0; i < specialCharacters.length(); i++) {
+            char c = specialCharacters.charAt(i);
+            if (c < special.length) {
+                special[c] = true;
+            }
+        }
+        this.enabledRules = PasswordRule.MIN_LENGTH.bit()
+                | (properties.isRequireLowercase() ? PasswordRule.LOWERCASE.bit() : 0)
+                | (properties.isRequireUppercase() ? PasswordRule.UPPERCASE.bit() : 0)
+                | (properties.isRequireDigit() ? PasswordRule.DIGIT.bit() : 0)
+                | (properties.isRequireSpecial() ? PasswordRule.SPECIAL.bit() : 0)
+                | (allowWhitespace ? 0 : PasswordRule.NO_WHITESPACE.bit());
+    }
+
+    public boolean isValid(CharSequence password) {
+        return check(password) == 0;
+    }
+
+    // 0 when the password satisfies every rule
+    public int check(CharSequence password) {
+        if (password == null) {
+            return enabledRules & ~PasswordRule.NO_WHITESPACE.bit();
+        }
+        // start with every character class missing and clear them as they are found
+        int failures = PasswordRule.LOWERCASE.bit() | PasswordRule.UPPERCASE.bit()
+                | PasswordRule.DIGIT.bit() | PasswordRule.SPECIAL.bit();
+        int length = password.length();
+        for (int i = 0; i < length; i++) {
+            failures = classify(password.charAt(i), failures);
+        }
+        if (length < minLength) {
+            failures |= PasswordRule.MIN_LENGTH.bit();
+        }
+        return failures & enabledRules;
+    }
+
+    public List<String> describe(int failures) {
+        List<String> messages = new ArrayList<>();
+        for (PasswordRule rule : PasswordRule.values()) {
+            if (rule.isIn(failures)) {
+                messages.add(messageOf(rule));
+            }
+        }
+        return messages;
+    }
+
+    private int classify(char c, int failures) {
+        if (c >= 'a' && c <= 'z') {
+            return failures & ~PasswordRule.LOWERCASE.bit();
+        } else if (c >= 'A' && c <= 'Z') {
+            return failures & ~PasswordRule.UPPERCASE.bit();
+        } else if (c >= '0' && c <= '9') {
+            return failures & ~PasswordRule.DIGIT.bit();
+        } else if (c < special.length && special[c]) {
+            return failures & ~PasswordRule.SPECIAL.bit();
+        } else if (Character.isWhitespace(c)) {
+            return failures | PasswordRule.NO_WHITESPACE.bit();
+        }
+        return failures;
+    }
+
+    private String messageOf(PasswordRule rule) {
+        return switch (rule) {
+            case MIN_LENGTH -> "Password must be at least " + minLength + " characters long";
+            case LOWERCASE -> "Password must contain a lowercase letter";
+            case UPPERCASE -> "Password must contain an uppercase letter";
+            case DIGIT -> "Password must contain a digit";
+            case SPECIAL -> "Password must contain one of " + specialCharacters;
+            case NO_WHITESPACE -> "Password must not contain whitespace";
+        };
+    }
+}
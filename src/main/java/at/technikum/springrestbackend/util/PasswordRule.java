@@ -0,0 +1,18 @@
+package at.technikum.springrestbackend.util;
+
+public enum PasswordRule {
+    MIN_LENGTH,
+    LOWERCASE,
+    UPPERCASE,
+    DIGIT,
+    SPECIAL,
+    NO_WHITESPACE;
+
+    public int bit() {
+        return 1 << ordinal();
+    }
+
+    public boolean isIn(int failures) {
+        return (failures & bit()) != 0;
+    }
+}
@@ -1,27 +1,13 @@
 package at.technikum.springrestbackend.util;
 
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import at.technikum.springrestbackend.property.PasswordPolicyProperties;
 
 public class PasswordValidator {
-    public static boolean isValidPassword(String password) {
-        // Minimum 8 characters, at least one uppercase letter, one lowercase letter, one digit, and one special character
-        String regex = "^(?=.*[a-z])(?=.*[A-Z])(?=.*\\d)(?=.*[@#$%^&+=!])(?=\\S+$).{8,}$";
-
-        Pattern pattern = Pattern.compile(regex);
-        Matcher matcher = pattern.matcher(password);
-
-        return matcher.matches();
-    }
+    // the default rules: 8 characters, lower and upper case, a digit, a special, no whitespace
+    private static final PasswordPolicy DEFAULT_POLICY =
+            new PasswordPolicy(new PasswordPolicyProperties());
 
-    public static void main(String[] args) {
-        String password = "StrongP@ss1";
-
-        if (isValidPassword(password)) {
-            System.out.println("Password is valid");
-        } else {
-            System.out.println("Password is not valid");
-        }
+    public static boolean isValidPassword(String password) {
+        return DEFAULT_POLICY.isValid(password);
     }
 }
-
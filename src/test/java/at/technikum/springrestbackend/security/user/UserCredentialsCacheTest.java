@@ -0,0 +1,77 @@
+package at.technikum.springrestbackend.security.user;
+
+import at.technikum.springrestbackend.dto.UserCredentials;
+import at.technikum.springrestbackend.property.LoginCacheProperties;
+import at.technikum.springrestbackend.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class UserCredentialsCacheTest {
+
+    private UserRepository userRepository;
+
+    private UserCredentialsCache cache;
+
+    @BeforeEach
+    void setUp() {
+        userRepository = mock(UserRepository.class);
+        cache = new UserCredentialsCache(userRepository, new LoginCacheProperties());
+    }
+
+    // latin1_swedish_ci keeps "åsa" and "asa" apart, CollationKey does not
+    @Test
+    void usernamesSharingACollationKeyGetTheirOwnEntries() {
+        UserCredentials asa = credentials("asa");
+        UserCredentials aasa = credentials("åsa");
+        when(userRepository.findCredentialsByUsername("asa")).thenReturn(asa);
+        when(userRepository.findCredentialsByUsername("åsa")).thenReturn(aasa);
+
+        assertSame(asa, cache.get("asa"));
+        assertSame(aasa, cache.get("åsa"));
+        assertSame(asa, cache.get("asa"));
+    }
+
+    @Test
+    void invalidateDropsEverySpellingOfTheUsername() {
+        UserCredentials alice = credentials("alice");
+        when(userRepository.findCredentialsByUsername("Alice")).thenReturn(alice);
+        when(userRepository.findCredentialsByUsername("alice")).thenReturn(alice);
+        cache.get("Alice");
+        cache.get("alice");
+
+        cache.invalidate("ALICE");
+        cache.get("Alice");
+        cache.get("alice");
+
+        verify(userRepository, times(2)).findCredentialsByUsername("Alice");
+        verify(userRepository, times(2)).findCredentialsByUsername("alice");
+    }
+
+    // the password change commits and invalidates while the login still holds the old row
+    @Test
+    void aLoadOverlappingAnInvalidationIsNotKept() {
+        UserCredentials before = credentials("bob");
+        UserCredentials after = credentials("bob");
+        when(userRepository.findCredentialsByUsername("bob")).thenAnswer(invocation -> {
+            cache.invalidate("bob");
+            return before;
+        }).thenReturn(after);
+
+        assertSame(before, cache.get("bob"));
+        assertSame(after, cache.get("bob"));
+        assertSame(after, cache.get("bob"));
+        verify(userRepository, times(2)).findCredentialsByUsername("bob");
+    }
+
+    private static UserCredentials credentials(String username) {
+        return new UserCredentials(UUID.randomUUID(), username, "hash-" + username, "ROLE_USER");
+    }
+}
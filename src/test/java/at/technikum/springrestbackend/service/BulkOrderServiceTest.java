@@ -0,0 +1,61 @@
+package at.technikum.springrestbackend.service;
+
+import at.technikum.springrestbackend.dto.OrderIngestRequest;
+import at.technikum.springrestbackend.dto.OrderIngestResult;
+import at.technikum.springrestbackend.model.Phone;
+import at.technikum.springrestbackend.model.Salutation;
+import at.technikum.springrestbackend.model.User;
+import at.technikum.springrestbackend.property.OrderProperties;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({BulkOrderService.class, OrderProperties.class})
+class BulkOrderServiceTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private BulkOrderService bulkOrderService;
+
+    @Test
+    void nullEntriesAreRejectedRowByRow() {
+        User user = entityManager.persist(new User("buyer", "hash", "ROLE_USER", "Order",
+                "Buyer", Salutation.values()[0], "buyer@test.local", "AT", null, true));
+        Phone phone = entityManager.persist(
+                new Phone("Phone", null, 6.1f, 128, 4000, 499f, "Brand"));
+        entityManager.flush();
+
+        List<OrderIngestResult> results = bulkOrderService.ingest(Arrays.asList(
+                request(user.getId(), phone.getId()),
+                null,
+                request(user.getId(), phone.getId(), null)));
+
+        assertNotNull(results.get(0).getOrderId());
+        assertNull(results.get(0).getError());
+        assertEquals("The order is missing", results.get(1).getError());
+        assertEquals(1, results.get(1).getIndex());
+        assertEquals("An order needs at least one phone", results.get(2).getError());
+    }
+
+    private static OrderIngestRequest request(UUID userId, UUID... phoneIds) {
+        OrderIngestRequest request = new OrderIngestRequest();
+        request.setUserId(userId);
+        request.setPhoneIds(Arrays.asList(phoneIds));
+        return request;
+    }
+}
@@ -0,0 +1,96 @@
+package at.technikum.springrestbackend.service;
+
+import at.technikum.springrestbackend.dto.OrderPlacementRequest;
+import at.technikum.springrestbackend.dto.OrderPlacementStatus;
+import at.technikum.springrestbackend.dto.OrderPlacementStatus.State;
+import at.technikum.springrestbackend.model.Phone;
+import at.technikum.springrestbackend.property.OrderProperties;
+import at.technikum.springrestbackend.repository.PhoneRepository;
+import at.technikum.springrestbackend.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class OrderPlacementPipelineTest {
+
+    private static final UUID USER = UUID.randomUUID();
+
+    private static final UUID IN_STOCK = UUID.randomUUID();
+
+    private static final UUID OTHER = UUID.randomUUID();
+
+    private StockReservations stockReservations;
+
+    private OrderPlacementPipeline pipeline;
+
+    @BeforeEach
+    void setUp() {
+        UserRepository userRepository = mock(UserRepository.class);
+        PhoneRepository phoneRepository = mock(PhoneRepository.class);
+        when(userRepository.existsById(USER)).thenReturn(true);
+        when(phoneRepository.findById(IN_STOCK)).thenReturn(Optional.of(new Phone()));
+        when(phoneRepository.findById(OTHER)).thenReturn(Optional.of(new Phone()));
+        stockReservations = mock(StockReservations.class);
+        when(stockReservations.reserve(IN_STOCK, 1))
+                .thenReturn(CompletableFuture.completedFuture(true));
+        pipeline = new OrderPlacementPipeline(userRepository, phoneRepository, stockReservations,
+                new TransactionTemplate(mock(PlatformTransactionManager.class)),
+                new OrderProperties());
+    }
+
+    @AfterEach
+    void tearDown() {
+        pipeline.shutdown();
+    }
+
+    @Test
+    void missingStockIsReportedAsSuch() throws Exception {
+        when(stockReservations.reserve(OTHER, 1))
+                .thenReturn(CompletableFuture.completedFuture(false));
+
+        OrderPlacementStatus status = placeAndWait();
+
+        assertEquals(State.REJECTED, status.getState());
+        assertEquals("Not enough stock for [" + OTHER + "]", status.getError());
+        verify(stockReservations, timeout(5_000)).release(IN_STOCK, 1);
+    }
+
+    @Test
+    void aFailedReservationKeepsItsMessage() throws Exception {
+        when(stockReservations.reserve(OTHER, 1)).thenReturn(CompletableFuture.failedFuture(
+                new IllegalStateException("Too many reservations are waiting")));
+
+        OrderPlacementStatus status = placeAndWait();
+
+        assertEquals(State.REJECTED, status.getState());
+        assertEquals("Too many reservations are waiting", status.getError());
+        verify(stockReservations, timeout(5_000)).release(IN_STOCK, 1);
+    }
+
+    private OrderPlacementStatus placeAndWait() throws InterruptedException {
+        OrderPlacementRequest request = new OrderPlacementRequest();
+        request.setUserId(USER);
+        request.setPhoneIds(List.of(IN_STOCK, OTHER));
+        UUID id = pipeline.place(request).getId();
+        long deadline = System.currentTimeMillis() + 5_000;
+        OrderPlacementStatus status = pipeline.getStatus(id);
+        while (!status.getState().isFinal() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+            status = pipeline.getStatus(id);
+        }
+        return status;
+    }
+}
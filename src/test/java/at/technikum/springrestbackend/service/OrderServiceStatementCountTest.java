@@ -0,0 +1,90 @@
+package at.technikum.springrestbackend.service;
+
+import at.technikum.springrestbackend.dto.OrderPage;
+import at.technikum.springrestbackend.dto.OrderSummary;
+import at.technikum.springrestbackend.model.Orders;
+import at.technikum.springrestbackend.model.Phone;
+import at.technikum.springrestbackend.model.Salutation;
+import at.technikum.springrestbackend.model.User;
+import at.technikum.springrestbackend.property.OrderProperties;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+// Order lists load users and phones through entity graphs, so the number of statements
+// per request must not grow with the number of orders
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({OrderService.class, OrderProperties.class})
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+class OrderServiceStatementCountTest {
+
+    private static final int ORDERS = 12;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private OrderService orderService;
+
+    private User user;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        user = entityManager.persist(new User("buyer", "hash", "ROLE_USER", "Order", "Buyer",
+                Salutation.values()[0], "buyer@test.local", "AT", null, true));
+        for (int i = 0; i < ORDERS; i++) {
+            Orders order = new Orders(user);
+            order.addPhone(entityManager.persist(
+                    new Phone("Phone " + i, null, 6.1f, 128, 4000, 499f, "Brand")));
+            order.addPhone(entityManager.persist(
+                    new Phone("Phone " + i + " Pro", null, 6.7f, 256, 4500, 899f, "Brand")));
+            entityManager.persist(order);
+        }
+        entityManager.flush();
+        entityManager.clear();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void getOrdersRunsOneStatement() {
+        List<OrderSummary> orders = orderService.getOrders();
+
+        assertEquals(ORDERS, orders.size());
+        orders.forEach(order -> assertEquals(2, order.getPhones().size()));
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void getOrderHistoryRunsTwoStatementsPerPage() {
+        OrderPage first = orderService.getOrderHistory(user.getId(), null, 5);
+        assertNotNull(first.getNextToken());
+        assertEquals(2, statistics.getPrepareStatementCount());
+
+        statistics.clear();
+        OrderPage second = orderService.getOrderHistory(user.getId(), first.getNextToken(), 5);
+        assertEquals(5, second.getOrders().size());
+        second.getOrders().forEach(order -> assertEquals(2, order.getPhones().size()));
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+}
@@ -0,0 +1,105 @@
+package at.technikum.springrestbackend.service;
+
+import at.technikum.springrestbackend.dto.PhoneImportError;
+import at.technikum.springrestbackend.dto.PhoneImportProgress;
+import at.technikum.springrestbackend.property.CatalogProperties;
+import at.technikum.springrestbackend.repository.PhoneRepository;
+import at.technikum.springrestbackend.util.ExportFormat;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// every batch commits on its own, like it does behind POST /import/phones
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({PhoneImportService.class, CatalogProperties.class})
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+class PhoneImportServiceTest {
+
+    @Autowired
+    private PhoneImportService phoneImportService;
+
+    @Autowired
+    private PhoneRepository phoneRepository;
+
+    @MockBean
+    private PhoneIndex phoneIndex;
+
+    @MockBean
+    private CatalogResponseCache catalogResponseCache;
+
+    @Test
+    void storesTheRowsBeforeBrokenJson() throws IOException {
+        Result result = importPhones(ExportFormat.NDJSON, """
+                {"name":"Json A","displaySize":6.1,"memory":128,"battery":4000,"price":499,"brand":"Test"}
+                {"name":"Json B","displaySize":6.7,"memory":256,"battery":4500,"price":899,"brand":"Test"}
+                {"name":"Json C","displaySize":
+                """);
+
+        assertStoredBeforeFailure(result, "Json A", "Json B");
+    }
+
+    @Test
+    void storesTheRowsBeforeAnUnterminatedCsvQuote() throws IOException {
+        Result result = importPhones(ExportFormat.CSV, """
+                name,displaySize,memory,battery,price,brand
+                Csv A,6.1,128,4000,499,Test
+                Csv B,6.7,256,4500,899,Test
+                "Csv C,6.1,128,4000,499,Test
+                """);
+
+        assertStoredBeforeFailure(result, "Csv A", "Csv B");
+    }
+
+    private void assertStoredBeforeFailure(Result result, String... names) {
+        assertEquals(1, result.errors.size());
+        assertEquals(3, result.errors.get(0).getRow());
+        assertTrue(result.errors.get(0).getError().startsWith("Unreadable input: "));
+        PhoneImportProgress last = result.progress.get(result.progress.size() - 1);
+        assertTrue(last.isDone());
+        assertEquals(2, last.getCreated());
+        assertEquals(1, last.getFailed());
+        assertEquals(2, phoneRepository.findByNameIn(Set.of(names)).size());
+    }
+
+    private Result importPhones(ExportFormat format, String body) throws IOException {
+        Result result = new Result();
+        phoneImportService.importPhones(format,
+                new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)), result);
+        return result;
+    }
+
+    private static final class Result implements PhoneImportService.Listener {
+        private final List<PhoneImportError> errors = new ArrayList<>();
+
+        private final List<PhoneImportProgress> progress = new ArrayList<>();
+
+        @Override
+        public void onError(PhoneImportError error) {
+            errors.add(error);
+        }
+
+        @Override
+        public void onProgress(PhoneImportProgress progress) {
+            this.progress.add(progress);
+        }
+    }
+}
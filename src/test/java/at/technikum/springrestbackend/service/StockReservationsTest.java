@@ -0,0 +1,90 @@
+package at.technikum.springrestbackend.service;
+
+import at.technikum.springrestbackend.property.OrderProperties;
+import at.technikum.springrestbackend.repository.PhoneStockRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class StockReservationsTest {
+
+    private static final UUID PHONE = UUID.randomUUID();
+
+    private PhoneStockRepository phoneStockRepository;
+
+    private StockReservations stockReservations;
+
+    @BeforeEach
+    void setUp() {
+        phoneStockRepository = mock(PhoneStockRepository.class);
+        stockReservations = new StockReservations(phoneStockRepository,
+                new TransactionTemplate(mock(PlatformTransactionManager.class)),
+                new OrderProperties());
+    }
+
+    @AfterEach
+    void tearDown() {
+        stockReservations.shutdown();
+    }
+
+    @Test
+    void grantsUnitsWhileStockLasts() throws Exception {
+        when(phoneStockRepository.findQuantity(PHONE)).thenReturn(Optional.of(1));
+        when(phoneStockRepository.reserve(PHONE, 1)).thenReturn(1);
+
+        assertTrue(stockReservations.reserve(PHONE, 1).get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void aFailedReleaseIsRetried() {
+        when(phoneStockRepository.release(PHONE, 2))
+                .thenThrow(new DataAccessResourceFailureException("connection lost"))
+                .thenReturn(1);
+
+        stockReservations.release(PHONE, 2);
+
+        verify(phoneStockRepository, timeout(5_000).times(2)).release(PHONE, 2);
+        assertEquals(1, stockReservations.getReleaseFailureCount());
+    }
+
+    @Test
+    void aFailedReservationKeepsTheReleasedUnits() {
+        when(phoneStockRepository.findQuantity(any()))
+                .thenThrow(new DataAccessResourceFailureException("connection lost"));
+        when(phoneStockRepository.release(any(), anyInt())).thenReturn(1);
+
+        CompletableFuture<Boolean> reservation = reserveAfterRelease();
+
+        ExecutionException failure = assertThrows(ExecutionException.class,
+                () -> reservation.get(5, TimeUnit.SECONDS));
+        assertEquals("connection lost", failure.getCause().getMessage());
+        verify(phoneStockRepository, times(1)).release(PHONE, 3);
+        assertEquals(0, stockReservations.getReleaseFailureCount());
+    }
+
+    // the partition may drain both in one batch or one after the other, either is settled
+    private CompletableFuture<Boolean> reserveAfterRelease() {
+        stockReservations.release(PHONE, 3);
+        return stockReservations.reserve(PHONE, 1);
+    }
+}
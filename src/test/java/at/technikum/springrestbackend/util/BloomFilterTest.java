@@ -0,0 +1,45 @@
+package at.technikum.springrestbackend.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BloomFilterTest {
+
+    private static final int INSERTIONS = 20_000;
+
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+
+    @Test
+    void everyInsertedValueIsFound() {
+        BloomFilter filter = filled();
+
+        for (int i = 0; i < INSERTIONS; i++) {
+            assertTrue(filter.mightContain("user" + i + "@example.com"), "user" + i);
+        }
+    }
+
+    @Test
+    void falsePositivesStayWithinTheRequestedRate() {
+        BloomFilter filter = filled();
+
+        int probes = 200_000;
+        int falsePositives = 0;
+        for (int i = 0; i < probes; i++) {
+            if (filter.mightContain("other" + i + "@example.org")) {
+                falsePositives++;
+            }
+        }
+        // some slack for chance, a broken hash combination lands far above it
+        double rate = (double) falsePositives / probes;
+        assertTrue(rate <= FALSE_POSITIVE_RATE * 1.5, "false positive rate " + rate);
+    }
+
+    private static BloomFilter filled() {
+        BloomFilter filter = new BloomFilter(INSERTIONS, FALSE_POSITIVE_RATE);
+        for (int i = 0; i < INSERTIONS; i++) {
+            filter.put("user" + i + "@example.com");
+        }
+        return filter;
+    }
+}
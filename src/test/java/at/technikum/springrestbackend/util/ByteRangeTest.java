@@ -0,0 +1,58 @@
+package at.technikum.springrestbackend.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ByteRangeTest {
+
+    private static final long SIZE = 100;
+
+    @Test
+    void parsesAClosedRange() {
+        ByteRange range = ByteRange.parse("bytes=10-19", SIZE);
+
+        assertEquals(new ByteRange(10, 19), range);
+        assertEquals(10, range.length());
+    }
+
+    @Test
+    void anOpenRangeRunsToTheEnd() {
+        assertEquals(new ByteRange(90, 99), ByteRange.parse("bytes=90-", SIZE));
+    }
+
+    @Test
+    void aSuffixRangeCoversTheLastBytes() {
+        assertEquals(new ByteRange(95, 99), ByteRange.parse("bytes=-5", SIZE));
+        assertEquals(new ByteRange(0, 99), ByteRange.parse("bytes=-500", SIZE));
+    }
+
+    @Test
+    void theEndIsClampedToTheResource() {
+        assertEquals(new ByteRange(50, 99), ByteRange.parse("bytes=50-1000", SIZE));
+    }
+
+    @Test
+    void malformedHeadersAreIgnored() {
+        assertNull(ByteRange.parse(null, SIZE));
+        assertNull(ByteRange.parse("items=0-5", SIZE));
+        assertNull(ByteRange.parse("bytes=0-5,10-15", SIZE));
+        assertNull(ByteRange.parse("bytes=5", SIZE));
+        assertNull(ByteRange.parse("bytes=-", SIZE));
+        assertNull(ByteRange.parse("bytes=--5", SIZE));
+        assertNull(ByteRange.parse("bytes=-+5", SIZE));
+        assertNull(ByteRange.parse("bytes=+5-10", SIZE));
+        assertNull(ByteRange.parse("bytes=a-b", SIZE));
+        assertNull(ByteRange.parse("bytes=99999999999999999999-", SIZE));
+        assertNull(ByteRange.parse("bytes=5-3", SIZE));
+    }
+
+    @Test
+    void unsatisfiableRangesAreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> ByteRange.parse("bytes=100-", SIZE));
+        assertThrows(IllegalArgumentException.class, () -> ByteRange.parse("bytes=-0", SIZE));
+        assertThrows(IllegalArgumentException.class, () -> ByteRange.parse("bytes=0-", 0));
+    }
+}
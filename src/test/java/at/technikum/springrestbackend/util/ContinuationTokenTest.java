@@ -0,0 +1,60 @@
+package at.technikum.springrestbackend.util;
+
+import at.technikum.springrestbackend.util.ContinuationToken.Position;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Timestamp;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ContinuationTokenTest {
+
+    private static final UUID ID = UUID.randomUUID();
+
+    @Test
+    void anIdSurvivesTheRoundTrip() {
+        assertEquals(ID, ContinuationToken.decode(ContinuationToken.encode(ID)));
+    }
+
+    @Test
+    void aPositionKeepsTheNanos() {
+        Timestamp timestamp = Timestamp.valueOf("2024-05-01 12:30:45.123456789");
+
+        Position position = ContinuationToken.decodePosition(
+                ContinuationToken.encode(new Position(timestamp, ID)));
+
+        assertEquals(timestamp, position.timestamp());
+        assertEquals(123456789, position.timestamp().getNanos());
+        assertEquals(ID, position.lastId());
+    }
+
+    @Test
+    void aPositionWithoutTimestampStaysWithout() {
+        Position position = ContinuationToken.decodePosition(
+                ContinuationToken.encode(new Position(null, ID)));
+
+        assertNull(position.timestamp());
+        assertEquals(ID, position.lastId());
+    }
+
+    @Test
+    void aKeySurvivesTheRoundTrip() {
+        String key = "Åsa Müller";
+
+        assertEquals(key, ContinuationToken.decodeKey(ContinuationToken.encodeKey(key)));
+    }
+
+    @Test
+    void malformedTokensAreRejected() {
+        String position = ContinuationToken.encode(new Position(null, ID));
+
+        assertThrows(IllegalArgumentException.class, () -> ContinuationToken.decode("not+base64"));
+        assertThrows(IllegalArgumentException.class, () -> ContinuationToken.decode(position));
+        assertThrows(IllegalArgumentException.class,
+                () -> ContinuationToken.decodePosition(ContinuationToken.encode(ID)));
+        assertThrows(IllegalArgumentException.class, () -> ContinuationToken.decodeKey("%%"));
+    }
+}
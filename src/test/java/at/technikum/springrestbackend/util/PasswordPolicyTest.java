@@ -0,0 +1,77 @@
+package at.technikum.springrestbackend.util;
+
+import at.technikum.springrestbackend.property.PasswordPolicyProperties;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PasswordPolicyTest {
+
+    private final PasswordPolicy policy = new PasswordPolicy(new PasswordPolicyProperties());
+
+    @Test
+    void aPasswordMeetingEveryRuleIsValid() {
+        assertTrue(policy.isValid("StrongP@ss1"));
+        assertEquals(0, policy.check("StrongP@ss1"));
+    }
+
+    @Test
+    void eachRuleFailsOnItsOwn() {
+        assertEquals(PasswordRule.MIN_LENGTH.bit(), policy.check("Sh@rt1a"));
+        assertEquals(PasswordRule.LOWERCASE.bit(), policy.check("STRONGP@SS1"));
+        assertEquals(PasswordRule.UPPERCASE.bit(), policy.check("strongp@ss1"));
+        assertEquals(PasswordRule.DIGIT.bit(), policy.check("StrongP@ss"));
+        assertEquals(PasswordRule.SPECIAL.bit(), policy.check("StrongPass1"));
+        assertEquals(PasswordRule.NO_WHITESPACE.bit(), policy.check("Strong P@ss1"));
+    }
+
+    @Test
+    void everyFailedRuleIsReported() {
+        int failures = policy.check("abc");
+
+        assertEquals(PasswordRule.MIN_LENGTH.bit() | PasswordRule.UPPERCASE.bit()
+                | PasswordRule.DIGIT.bit() | PasswordRule.SPECIAL.bit(), failures);
+        assertEquals(List.of(
+                "Password must be at least 8 characters long",
+                "Password must contain an uppercase letter",
+                "Password must contain a digit",
+                "Password must contain one of @#$%^&+=!"), policy.describe(failures));
+    }
+
+    @Test
+    void aMissingPasswordFailsEveryRuleButWhitespace() {
+        int failures = policy.check(null);
+
+        assertTrue(PasswordRule.MIN_LENGTH.isIn(failures));
+        assertTrue(PasswordRule.SPECIAL.isIn(failures));
+        assertFalse(PasswordRule.NO_WHITESPACE.isIn(failures));
+    }
+
+    @Test
+    void whitespaceIsAnyUnicodeWhitespace() {
+        assertEquals(PasswordRule.NO_WHITESPACE.bit(), policy.check("Strong\tP@ss1"));
+        assertEquals(PasswordRule.NO_WHITESPACE.bit(), policy.check("StrongP@ss1\n"));
+    }
+
+    @Test
+    void whitespaceCanBeAllowed() {
+        PasswordPolicyProperties properties = new PasswordPolicyProperties();
+        properties.setAllowWhitespace(true);
+
+        assertTrue(new PasswordPolicy(properties).isValid("Strong P@ss1"));
+    }
+
+    @Test
+    void disabledRulesAreNotEnforced() {
+        PasswordPolicyProperties properties = new PasswordPolicyProperties();
+        properties.setRequireSpecial(false);
+        properties.setRequireDigit(false);
+        properties.setMinLength(4);
+
+        assertTrue(new PasswordPolicy(properties).isValid("Weak"));
+    }
+}